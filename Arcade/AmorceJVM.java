@@ -0,0 +1,89 @@
+package Arcade;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * Point d'entrée d'une JVM de réserve, démarrée à l'avance par {@link ReserveJVM}.
+ * <p>
+ * Au démarrage, AWT, ImageIO, Java Sound et les classes de MG2D et du paquetage Arcade
+ * utilisées par les jeux sont chargés et initialisés. La JVM attend ensuite sur son entrée
+ * standard une ligne décrivant le jeu à lancer :
+ * <pre>chemin\tlangage\tnom</pre>
+ * où le chemin est celui, absolu, du dossier du jeu. Le jeu est alors exécuté par
+ * {@link HoteJeu} avec le chargeur préchargé, qui fixe ce dossier dans {@link DossierJeu} à la
+ * place du répertoire courant de la JVM, resté celui de la borne. La JVM s'arrête ensuite
+ * avec le code de retour du jeu. Si l'entrée standard est fermée sans qu'un jeu
+ * n'ait été demandé (arrêt du menu), la JVM s'arrête aussitôt.
+ */
+public class AmorceJVM {
+
+    /**
+     * Classes chargées et initialisées avant la demande de lancement.
+     */
+    private static final String[] CLASSES_PRECHARGEES = {
+            "MG2D.Fenetre", "MG2D.FenetrePleinEcran", "MG2D.Panneau", "MG2D.Couleur", "MG2D.Clavier",
+            "MG2D.geometrie.Dessin", "MG2D.geometrie.Point", "MG2D.geometrie.Texture", "MG2D.geometrie.Texte",
+            "MG2D.geometrie.Rectangle", "MG2D.geometrie.Cercle", "MG2D.geometrie.Ligne",
+            "MG2D.geometrie.BoiteEnglobante", "MG2D.audio.Bruitage", "MG2D.audio.Musique",
+            "MG2D.audio.decoder.Decoder", "MG2D.audio.decoder.Bitstream", "MG2D.audio.player.Player",
+            "Arcade.ClavierBorneArcade", "Arcade.HighScore", "Arcade.LigneHighScore", "Arcade.DossierJeu" };
+
+    /**
+     * Prépare la JVM puis attend le jeu à lancer.
+     * @param args Non utilisés.
+     */
+    public static void main(String[] args) {
+        ChargeurJeu chargeur;
+        try {
+            chargeur = ChargeurJeu.pourJeuxJava(AmorceJVM.class.getClassLoader());
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        prechauffer(chargeur);
+
+        int code = 1;
+        try {
+            BufferedReader entree = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String ligne = entree.readLine();
+            if (ligne == null)
+                System.exit(0);
+            String[] champs = ligne.split("\t");
+            Game game = new Game(0, champs[2], "", champs[0], "", champs[1], "");
+            code = HoteJeu.lancer(game, chargeur);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        System.exit(code);
+    }
+
+    /**
+     * Charge et initialise les bibliothèques utilisées par les jeux.
+     * Les erreurs sont ignorées : le jeu chargera simplement ce qui manque lui-même.
+     */
+    private static void prechauffer(ChargeurJeu chargeur) {
+        try {
+            Toolkit.getDefaultToolkit();
+            GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+            ImageIO.getImageReadersByFormatName("png").hasNext();
+            AudioSystem.getMixerInfo();
+        } catch (Throwable e) {
+            System.err.println("Préchargement AWT/ImageIO incomplet : " + e);
+        }
+        for (String classe : CLASSES_PRECHARGEES) {
+            try {
+                Class.forName(classe, true, chargeur);
+            } catch (Throwable e) {
+                System.err.println("Préchargement impossible de " + classe + " : " + e);
+            }
+        }
+    }
+}
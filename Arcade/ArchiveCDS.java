@@ -0,0 +1,203 @@
+package Arcade;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Gestion des archives de partage de classes (AppCDS) propres à chaque jeu.
+ * <p>
+ * Au premier lancement d'un jeu, la JVM est démarrée avec {@code -XX:ArchiveClassesAtExit}
+ * et enregistre en quittant les classes chargées (Swing, AWT, ImageIO, MG2D, jeu) dans
+ * {@code cds/<Jeu>/app.jsa}. Les lancements suivants utilisent cette archive avec
+ * {@code -XX:SharedArchiveFile} : les classes sont lues déjà analysées et vérifiées au lieu
+ * d'être relues depuis la carte SD. L'archive est régénérée dès qu'un fichier .class du jeu,
+ * du paquetage Arcade ou {@code MG2D.jar} est plus récent qu'elle.
+ * <p>
+ * La JVM n'archive que des classes lues dans des fichiers .jar et refuse de créer l'archive
+ * si un dossier non vide précède une archive .jar utilisée : les classes d'un jeu Java et
+ * celles du paquetage Arcade sont donc regroupées dans {@code cds/<Jeu>/app.jar}, placé
+ * en tête du chemin de classes avec {@code MG2D.jar}. Les dossiers restent dans le chemin
+ * de classes, après les archives, pour les images et les sons.
+ * <p>
+ * Les archives sont rangées dans le dossier de la borne et non dans celui du jeu : un
+ * {@code app.jar} dans {@code projet/<Jeu>/} ferait passer un jeu Java pour un jeu Jar et
+ * changerait la date du dossier suivie par {@link CatalogueJeux}.
+ * <p>
+ * La date du fichier .class le plus récent d'un dossier n'est cherchée qu'une fois par
+ * analyse du catalogue, au premier lancement qui en a besoin, et non à chaque lancement :
+ * un jeu recompilé pendant que le menu tourne garde son archive jusqu'au redémarrage du menu.
+ */
+public class ArchiveCDS {
+
+    /**
+     * Dossier des archives, relatif au dossier de la borne. Chaque jeu y a un sous-dossier à son nom.
+     */
+    public static final String DOSSIER = "cds";
+
+    /**
+     * Nom de l'archive CDS d'un jeu.
+     */
+    public static final String ARCHIVE = "app.jsa";
+
+    /**
+     * Nom de l'archive des classes d'un jeu Java.
+     */
+    public static final String CLASSES = "app.jar";
+
+    /**
+     * Date du fichier .class le plus récent de chaque dossier, depuis la dernière analyse du catalogue.
+     */
+    private static final Map<Path, Long> datesClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne les options JVM et le chemin de classes pour lancer un jeu Java.
+     * <p>
+     * Le chemin de classes reste équivalent à {@code .:MG2D.jar:..}. En cas d'erreur sur les
+     * archives, le jeu est lancé sans CDS.
+     * @param dossier Dossier du jeu.
+     * @param mg2d Chemin de {@code MG2D.jar}.
+     * @param borne Dossier de la borne, contenant le paquetage Arcade.
+     * @return Les arguments à placer avant le nom de la classe principale.
+     */
+    public static List<String> optionsJava(Path dossier, Path mg2d, Path borne) {
+        String classpath = dossier + ":" + mg2d + ":" + borne;
+        // aucune classe ne doit être chargée depuis un dossier placé avant une archive utilisée
+        String classpathCDS = mg2d + ":" + dossier + ":" + borne;
+        try {
+            Path archives = archives(dossier);
+            Path classes = archives.resolve(CLASSES);
+            Path arcade = borne.resolve("Arcade");
+            long date = Math.max(Math.max(dateClasses(dossier, Integer.MAX_VALUE), dateClasses(arcade, 1)), date(mg2d));
+
+            Path archive = archives.resolve(ARCHIVE);
+            if (!aJour(archive, date) || !Files.exists(classes)) {
+                Files.deleteIfExists(archive);
+                creerJar(classes, dossier, fichiersClass(dossier, Integer.MAX_VALUE), borne, fichiersClass(arcade, 1));
+            }
+            List<String> options = new ArrayList<>(options(archive, date));
+            options.addAll(Arrays.asList("-cp", classes + ":" + classpathCDS));
+            return options;
+        } catch (IOException e) {
+            System.err.println("Archive CDS indisponible pour " + dossier + " : " + e.getMessage());
+            return Arrays.asList("-cp", classpath);
+        }
+    }
+
+    /**
+     * Retourne les options JVM pour lancer un jeu Jar.
+     * @param dossier Dossier du jeu.
+     * @param jar Archive exécutable du jeu.
+     * @param mg2d Chemin de {@code MG2D.jar}.
+     * @return Les options CDS à placer avant {@code -jar}.
+     */
+    public static List<String> optionsJar(Path dossier, Path jar, Path mg2d) {
+        try {
+            return options(archives(dossier).resolve(ARCHIVE), Math.max(date(jar), date(mg2d)));
+        } catch (IOException e) {
+            System.err.println("Archive CDS indisponible pour " + dossier + " : " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Oublie les dates des classes : elles seront relues au prochain lancement de chaque jeu.
+     * Appelée à chaque analyse du catalogue des jeux.
+     */
+    public static void oublierDates() {
+        datesClasses.clear();
+    }
+
+    /**
+     * Retourne le dossier des archives d'un jeu, en le créant si besoin.
+     */
+    private static Path archives(Path dossier) throws IOException {
+        Path archives = Paths.get(DOSSIER).toAbsolutePath().resolve(dossier.getFileName().toString());
+        Files.createDirectories(archives);
+        return archives;
+    }
+
+    /**
+     * Utilise l'archive si elle est à jour, sinon demande sa création à la sortie de la JVM.
+     */
+    private static List<String> options(Path archive, long date) {
+        try {
+            if (aJour(archive, date))
+                return Arrays.asList("-Xshare:auto", "-XX:SharedArchiveFile=" + archive);
+            Files.deleteIfExists(archive);
+        } catch (IOException e) {
+            System.err.println("Archive CDS indisponible : " + e.getMessage());
+            return new ArrayList<>();
+        }
+        return Arrays.asList("-XX:ArchiveClassesAtExit=" + archive);
+    }
+
+    /**
+     * Indique si l'archive existe et n'est pas plus ancienne que la plus récente de ses dépendances.
+     * @param date Date de la dépendance la plus récente, en millisecondes.
+     */
+    static boolean aJour(Path archive, long date) throws IOException {
+        return Files.exists(archive) && Files.getLastModifiedTime(archive).toMillis() >= date;
+    }
+
+    /**
+     * Retourne la date du fichier .class le plus récent d'un dossier, lue une fois par analyse du catalogue.
+     * @param profondeur Profondeur des sous-dossiers parcourus, voir {@link #fichiersClass(Path, int)}.
+     */
+    private static long dateClasses(Path dossier, int profondeur) throws IOException {
+        Long date = datesClasses.get(dossier);
+        if (date == null) {
+            date = 0L;
+            for (Path classe : fichiersClass(dossier, profondeur))
+                date = Math.max(date, date(classe));
+            datesClasses.put(dossier, date);
+        }
+        return date;
+    }
+
+    private static long date(Path fichier) throws IOException {
+        return Files.exists(fichier) ? Files.getLastModifiedTime(fichier).toMillis() : 0;
+    }
+
+    /**
+     * Retourne les fichiers .class d'un dossier.
+     * @param profondeur 1 pour les seules classes du dossier : celles du paquetage Arcade, sans ses tests.
+     */
+    private static List<Path> fichiersClass(Path dossier, int profondeur) throws IOException {
+        if (!Files.isDirectory(dossier))
+            return new ArrayList<>();
+        try (Stream<Path> fichiers = Files.walk(dossier, profondeur)) {
+            return fichiers.filter(p -> p.toString().endsWith(".class")).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Regroupe les classes du jeu et du paquetage Arcade dans une archive .jar.
+     * Les classes de {@code Arcade/tests} n'y sont pas : le jeu n'en a pas besoin.
+     */
+    private static void creerJar(Path jar, Path dossier, List<Path> classesJeu, Path borne, List<Path> classesArcade)
+            throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path classe : classesJeu)
+                ajouter(out, dossier.relativize(classe), classe);
+            for (Path classe : classesArcade)
+                ajouter(out, borne.relativize(classe), classe);
+        }
+    }
+
+    private static void ajouter(JarOutputStream out, Path nom, Path fichier) throws IOException {
+        out.putNextEntry(new JarEntry(nom.toString().replace('\\', '/')));
+        Files.copy(fichier, out);
+        out.closeEntry();
+    }
+}
@@ -41,21 +41,10 @@ public class BoiteDescription extends Boite{
 	super(rectangle);
 	
 	/*HACKED BY BENDAL*/
-	try{
-	    
-	    Font font = null;
-		Font fontTexte = null;
-		File in = new File("fonts/PrStart.ttf");
-		font = font.createFont(Font.TRUETYPE_FONT, in);
-		 in = new File("fonts/Volter__28Goldfish_29.ttf");
-		fontTexte = fontTexte.createFont(Font.TRUETYPE_FONT, in);
-	    font1 = fontTexte.deriveFont(15.0f);
-		font2 = fontTexte.deriveFont(20.0f);
-		font3 = font.deriveFont(25.0f);
-		font4 = font.deriveFont(14.0f);
-	}catch (Exception e) {
-	    System.err.println(e.getMessage());
-	}
+	font1 = Ressources.police("fonts/Volter__28Goldfish_29.ttf", 15.0f);
+	font2 = Ressources.police("fonts/Volter__28Goldfish_29.ttf", 20.0f);
+	font3 = Ressources.police("fonts/PrStart.ttf", 25.0f);
+	font4 = Ressources.police("fonts/PrStart.ttf", 14.0f);
 	/****************/
 	
 	bouton = new Texture[6];
@@ -63,12 +52,12 @@ public class BoiteDescription extends Boite{
 	texteBouton = new String[7];
 		
 	//declaration des texture bouton + joystick
-	this.joystick = new Texture("img/joystick2.png", new Point(740, 100), 40,40);
+	this.joystick = Ressources.texture("img/joystick2.png", new Point(740, 100), 40,40);
 	for(int i = 0 ; i < 3 ; i++){
-	    this.bouton[i] = new Texture("img/ibouton2.png", new Point(890+130*i, 130), 40, 40);
+	    this.bouton[i] = Ressources.texture("img/ibouton2.png", new Point(890+130*i, 130), 40, 40);
 	}
 	for(int i = 3 ; i < 6 ; i++){
-	    this.bouton[i] = new Texture("img/ibouton2.png", new Point(890+130*(i-3), 50), 40, 40);
+	    this.bouton[i] = Ressources.texture("img/ibouton2.png", new Point(890+130*(i-3), 50), 40, 40);
 	}
 	
 	//declaration des textes bouton + joystick
@@ -170,6 +159,17 @@ public class BoiteDescription extends Boite{
     }
 
     public void lireHighScore(String path){
+	String fichier =path+"/highscore";
+	
+	File f = new File(fichier);
+	afficherHighScore(f.exists() ? HighScore.lireFichier(fichier) : null);
+    }
+
+    /**
+     * Affiche des meilleurs scores déjà lus, par exemple par {@link PrechargeurJeux}.
+     * @param liste Scores du jeu, null si le jeu n'a pas de fichier highscore.
+     */
+    void afficherHighScore(ArrayList<LigneHighScore> liste){
 	
         for(int i=0;i<10;i++){
 	    if(i==0)
@@ -178,14 +178,10 @@ public class BoiteDescription extends Boite{
 		listeHighScore[i].setTexte((i+1)+"eme - ");
 	}
 	
-	String fichier =path+"/highscore";
-	
-	File f = new File(fichier);
-	if(!f.exists()){
+	if(liste == null){
 	    for(int i=0;i<10;i++)
 		listeHighScore[i].setTexte("/");
 	}else{
-	    ArrayList<LigneHighScore> liste = HighScore.lireFichier(fichier);
 	    for(int i=0;i<liste.size();i++){
 		if(i==0)
 		    listeHighScore[i].setTexte("1er : "+liste.get(i).getNom()+" - "+liste.get(i).getScore());
@@ -221,6 +217,34 @@ public class BoiteDescription extends Boite{
 		
     }
 	
+    /**
+     * Affiche une description déjà lue, par exemple depuis le catalogue des jeux.
+     * @param description Lignes de la description séparées par des retours à la ligne.
+     * Seules les 10 premières lignes sont affichées.
+     */
+    public void afficherDescription(String description){
+	String[] lignes = description.isEmpty() ? new String[0] : description.split("\n");
+	for(int i = 0 ; i < message.length ; i++){
+	    setMessage(i < lignes.length ? lignes[i] : "", i);
+	}
+    }
+
+    /**
+     * Affiche les libellés des boutons déjà lus, par exemple depuis le catalogue des jeux.
+     * @param boutons Ligne au format du fichier bouton.txt (joystick:bouton1:...:bouton6).
+     */
+    public void afficherBoutons(String boutons){
+	if(boutons.isEmpty()){
+	    System.err.println("le fichier bouton est surement vide!");
+	    return;
+	}
+	texteBouton = boutons.split(":");
+	settJoystick(texteBouton[0]);
+	for(int i = 0 ; i < 6 && i+1 < texteBouton.length ; i++){
+	    settBouton(texteBouton[i+1], i);
+	}
+    }
+
     public Texte[] getMessage(){
 	return message;
     }
@@ -4,6 +4,7 @@ import MG2D.geometrie.Point;
 import MG2D.geometrie.Rectangle;
 import MG2D.geometrie.Texture;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 
 public class BoiteImage extends Boite {
@@ -51,4 +52,18 @@ public class BoiteImage extends Boite {
         // this.image.setTaille(400, 320);
     }
 
+    /**
+     * Met à jour l'image affichée dans la boîte avec une vignette déjà décodée.
+     * 
+     * @param vignette Vignette du jeu, par exemple préchargée par {@link PrechargeurJeux}.
+     *              Si null, l'image par défaut est utilisée.
+     */
+    public void setImage(BufferedImage vignette) {
+        if (vignette != null) {
+            this.image.setImg(vignette);
+        } else {
+            this.image.setImg("img/blancTransparent.png");
+        }
+    }
+
 }
\ No newline at end of file
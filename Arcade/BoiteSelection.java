@@ -3,8 +3,6 @@ package Arcade;
 import java.awt.Font;
 
 import MG2D.geometrie.Rectangle;
-import MG2D.audio.*;
-import java.io.File;
 import java.util.ArrayList;
 
 import MG2D.Couleur;
@@ -23,6 +21,7 @@ public class BoiteSelection extends Boite {
 	public BoiteSelection(Rectangle rectangle, Pointeur pointeur) {
 		super(rectangle);
 		this.pointeur = pointeur;
+		this.font = Ressources.police("fonts/PrStart.ttf", 26.0f);
 
 	}
 	/**
@@ -34,36 +33,19 @@ public class BoiteSelection extends Boite {
 	 */
 	public boolean selection(ClavierBorneArcade clavier) {
 
-		Bruitage selectionSound = new Bruitage("sound/bip.mp3");
-
-		font = null;
-		try {
-			File in = new File("fonts/PrStart.ttf");
-			font = Font.createFont(Font.TRUETYPE_FONT, in);
-			font = font.deriveFont(26.0f);
-		} catch (Exception e) {
-			System.out.println(e.getMessage());
-		}
-
-		ArrayList<Bouton> buttons = Graphique.getButtons();
-		if (buttons.isEmpty())
+		ArrayList<Game> games = Graphique.getGames();
+		if (games.isEmpty())
 			return true;
 
-		if (clavier.getJoyJ1HautTape() && pointeur.getValue() < buttons.size()) {
-			System.out.println(pointeur.getValue() + " " + buttons.size());
-			try {
-				selectionSound.lecture();
-			} catch (Exception e) {
-			}
+		if (clavier.getJoyJ1HautTape() && pointeur.getValue() < games.size()) {
+			System.out.println(pointeur.getValue() + " " + games.size());
+			Ressources.jouer("sound/bip.mp3");
 			this.nextSelection();
 		}
 
 		if (clavier.getJoyJ1BasTape() && pointeur.getValue() >= 0) {
 
-			try {
-				selectionSound.lecture();
-			} catch (Exception e) {
-			}
+			Ressources.jouer("sound/bip.mp3");
 			this.previousSelection();
 		}
 
@@ -88,51 +70,42 @@ public class BoiteSelection extends Boite {
 		this.pointeur = pointeur;
 	}
 	/**
-	 * Passe à la sélection suivante dans la liste des boutons.
-	 * Met à jour la position et l'apparence des boutons pour refléter la sélection.
+	 * Passe à la sélection suivante dans la liste des jeux.
+	 * Relie les emplacements du carrousel aux jeux qui les entourent.
 	 */
 	public void nextSelection() {
-		ArrayList<Bouton> buttons = Graphique.getButtons();
+		int nombre = Graphique.getGames().size();
 
 		if (pointeur.getValue() == 0) {
-			pointeur.setValue(buttons.size() - 1);
-			for (Bouton b : buttons) {
-				b.translater(0, 110 * (buttons.size() - 1));
-				b.getText().setPolice(font);
-				b.getText().setCouleur(Couleur.BLANC);
-			}
+			pointeur.setValue(nombre - 1);
 		} else {
-			for (Bouton b : buttons) {
-				b.translater(0, -110);
-				b.getText().setPolice(font);
-				b.getText().setCouleur(Couleur.BLANC);
-			}
 			pointeur.setValue(pointeur.getValue() - 1);
 		}
+		afficherSelection();
 	}
 	/**
-	 * Passe à la sélection précédente dans la liste des boutons.
-	 * Met à jour la position et l'apparence des boutons pour refléter la sélection.
+	 * Passe à la sélection précédente dans la liste des jeux.
+	 * Relie les emplacements du carrousel aux jeux qui les entourent.
 	 */
 	public void previousSelection() {
-		ArrayList<Bouton> buttons = Graphique.getButtons();
-
-		if (pointeur.getValue() == buttons.size() - 1) {
+		int nombre = Graphique.getGames().size();
 
+		if (pointeur.getValue() == nombre - 1) {
 			pointeur.setValue(0);
-			for (Bouton b : buttons) {
-				b.translater(0, -110 * (buttons.size() - 1));
-				b.getText().setPolice(font);
-				b.getText().setCouleur(Couleur.BLANC);
-			}
 		} else {
-			for (Bouton b : buttons) {
-				b.translater(0, 110);
-				b.getText().setPolice(font);
-				b.getText().setCouleur(Couleur.BLANC);
-			}
 			pointeur.setValue(pointeur.getValue() + 1);
 		}
-
+		afficherSelection();
+	}
+	/**
+	 * Met à jour les seuls emplacements du carrousel, quel que soit le nombre de jeux.
+	 */
+	private void afficherSelection() {
+		Carrousel carrousel = Graphique.getCarrousel();
+		carrousel.lier(pointeur.getValue());
+		for (Bouton b : carrousel.getEmplacements()) {
+			b.getText().setPolice(font);
+			b.getText().setCouleur(Couleur.BLANC);
+		}
 	}
 }
\ No newline at end of file
@@ -36,7 +36,7 @@ public class Bouton {
 	public Bouton(Game game) {
 		this.text = new Texte(
 				new Texte(Couleur.NOIR, game.getName(), new Font("Calibri", Font.TYPE1_FONT, 30), new Point(310, 510)));
-		this.texture = new Texture("img/bouton2.png", new Point(100, 478), 400, 65);
+		this.texture = Ressources.texture("img/bouton2.png", new Point(100, 478), 400, 65);
 		this.gameId = game.getGameId();
 		this.name = game.getName();
 		this.game = game;
@@ -51,7 +51,7 @@ public class Bouton {
 	public Bouton(String text, String name) {
 		this.text = new Texte(
 				new Texte(Couleur.NOIR, text, new Font("Calibri", Font.TYPE1_FONT, 30), new Point(310, 510)));
-		this.texture = new Texture("img/bouton2.png", new Point(100, 478), 400, 65);
+		this.texture = Ressources.texture("img/bouton2.png", new Point(100, 478), 400, 65);
 		this.name = name;
 		this.game = new Game();
 	}
@@ -102,6 +102,18 @@ public class Bouton {
 		this.game = game;
 	}
 
+	/**
+	 * Associe le bouton à un autre jeu et affiche son nom.
+	 * @param game Le jeu à afficher sur le bouton.
+	 * Permet de réutiliser un même bouton pour plusieurs jeux, voir Carrousel.
+	 */
+	public void lier(Game game) {
+		setGame(game);
+		this.gameId = game.getGameId();
+		this.name = game.getName();
+		this.text.setTexte(game.getName());
+	}
+
 	/**
 	 * Retourne le nom du bouton.
 	 * @return Le nom du bouton.
@@ -0,0 +1,127 @@
+package Arcade;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import MG2D.geometrie.Texture;
+
+/**
+ * Liste des jeux affichée à gauche du menu.
+ * <p>
+ * Seuls les emplacements visibles à l'écran, plus une marge de chaque côté, existent sous
+ * forme de {@link Bouton}. Les emplacements restent à la même position : à chaque
+ * déplacement du curseur, ils sont reliés aux jeux qui doivent y apparaître. Le coût d'un
+ * déplacement dépend donc du nombre d'emplacements et non du nombre de jeux installés.
+ * <p>
+ * L'emplacement central affiche le jeu sélectionné. Celui situé {@code k} emplacements
+ * au-dessus affiche le jeu d'indice {@code selection - k} ; un emplacement sans jeu
+ * (avant le premier ou après le dernier) est masqué.
+ * <p>
+ * Les dessins des emplacements restent dans la fenêtre, à la place où ils ont été ajoutés :
+ * seuls leur image et leur texte changent. Les retirer puis les ajouter de nouveau les
+ * placerait au-dessus des dessins ajoutés après eux, comme le cadre de la sélection.
+ */
+public class Carrousel {
+
+    /**
+     * Nombre d'emplacements visibles de chaque côté de l'emplacement central.
+     */
+    public static final int VISIBLES = 4;
+
+    /**
+     * Nombre d'emplacements gardés hors de l'écran de chaque côté.
+     */
+    public static final int MARGE = 1;
+
+    /**
+     * Écart vertical entre deux emplacements.
+     */
+    private static final int ECART = 110;
+
+    private static final int RAYON = VISIBLES + MARGE;
+
+    /**
+     * Image transparente affichée par la texture d'un emplacement masqué.
+     */
+    private static final BufferedImage VIDE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+
+    private final List<Game> games;
+    private final Bouton[] emplacements;
+
+    /**
+     * Image de la texture de chaque emplacement, rendue quand il affiche de nouveau un jeu.
+     */
+    private final BufferedImage[] images;
+
+    /**
+     * Vrai si l'emplacement affiche un jeu, faux s'il est masqué.
+     */
+    private final boolean[] affiches;
+
+    /**
+     * Crée les emplacements, positionnés comme les boutons de la liste complète.
+     * Les dessins de tous les emplacements doivent être ajoutés à la fenêtre une seule fois,
+     * avant le premier appel à {@link #lier(int)}, qui masque ceux qui n'ont pas de jeu.
+     * @param games Jeux du menu.
+     */
+    public Carrousel(List<Game> games) {
+        this.games = games;
+        this.emplacements = new Bouton[2 * RAYON + 1];
+        this.images = new BufferedImage[emplacements.length];
+        this.affiches = new boolean[emplacements.length];
+        for (int j = 0; j < emplacements.length; j++) {
+            emplacements[j] = new Bouton("", "");
+            emplacements[j].translater(0, (j - RAYON) * ECART);
+            images[j] = emplacements[j].getTexture().getImg();
+            affiches[j] = true;
+        }
+    }
+
+    /**
+     * Relie les emplacements aux jeux entourant la sélection.
+     * @param selection Indice du jeu sélectionné.
+     */
+    public void lier(int selection) {
+        for (int j = 0; j < emplacements.length; j++) {
+            Bouton b = emplacements[j];
+            int index = selection - (j - RAYON);
+            if (index >= 0 && index < games.size()) {
+                b.lier(games.get(index));
+                if (!affiches[j]) {
+                    changerImage(b.getTexture(), images[j]);
+                    affiches[j] = true;
+                }
+            } else if (affiches[j]) {
+                changerImage(b.getTexture(), VIDE);
+                b.getText().setTexte("");
+                affiches[j] = false;
+            }
+        }
+    }
+
+    /**
+     * Change l'image d'une texture sans changer sa taille à l'écran.
+     */
+    private static void changerImage(Texture texture, BufferedImage image) {
+        int largeur = texture.getLargeur();
+        int hauteur = texture.getHauteur();
+        texture.setImg(image);
+        texture.setTaille(largeur, hauteur);
+    }
+
+    /**
+     * Retourne l'emplacement central, qui affiche le jeu sélectionné.
+     * @return Le bouton du jeu sélectionné.
+     */
+    public Bouton getSelection() {
+        return emplacements[RAYON];
+    }
+
+    /**
+     * Retourne tous les emplacements, du plus bas au plus haut.
+     * @return Les boutons des emplacements.
+     */
+    public Bouton[] getEmplacements() {
+        return emplacements;
+    }
+}
@@ -0,0 +1,301 @@
+package Arcade;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+/**
+ * Catalogue persistant des jeux installés dans {@code projet/}.
+ * <p>
+ * Pour chaque jeu, le catalogue conserve son nom, son langage, son point d'entrée, sa
+ * description, les libellés de ses boutons et le chemin de sa vignette, ainsi qu'une
+ * empreinte formée des dates de modification de son dossier et de ses fichiers de
+ * description. Au démarrage, le menu relit ce fichier en une seule lecture séquentielle :
+ * <ul>
+ * <li>si la date de modification de {@code projet/} n'a pas changé, aucun jeu n'a été ajouté
+ * ni supprimé et le dossier n'est pas parcouru ;</li>
+ * <li>seuls les jeux dont l'empreinte a changé sont analysés à nouveau.</li>
+ * </ul>
+ * Le catalogue est enregistré dans le dossier de la borne et non dans {@code projet/}, dont
+ * il modifierait sinon la date à chaque écriture.
+ */
+public class CatalogueJeux {
+
+    /**
+     * Fichier du catalogue, relatif au dossier de la borne.
+     */
+    public static final String FICHIER = "catalogue.dat";
+
+    /**
+     * Version du format, à incrémenter à chaque changement des champs enregistrés.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Nombre maximal de lignes de description affichées par le menu.
+     */
+    private static final int LIGNES_DESCRIPTION = 10;
+
+    /**
+     * Charge la liste des jeux depuis le catalogue, en n'analysant que les dossiers modifiés,
+     * puis met à jour le catalogue si nécessaire.
+     * @param projet Dossier contenant les jeux.
+     * @param fichier Fichier du catalogue.
+     * @return Les jeux, numérotés à partir de 1.
+     */
+    public static ArrayList<Game> charger(Path projet, Path fichier) {
+        // les classes des jeux ont pu être recompilées depuis la dernière analyse
+        ArchiveCDS.oublierDates();
+        Contenu lu = lire(fichier);
+        Map<String, Entree> cache = lu.entrees;
+        long dateProjet = date(projet);
+        boolean modifie = dateProjet != lu.dateProjet;
+
+        ArrayList<String> noms = new ArrayList<>();
+        if (modifie || cache.isEmpty()) {
+            modifie = true;
+            try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(projet)) {
+                for (Path dirPath : directoryStream) {
+                    if (Files.isDirectory(dirPath))
+                        noms.add(dirPath.getFileName().toString());
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        } else {
+            noms.addAll(cache.keySet());
+        }
+
+        ArrayList<Game> games = new ArrayList<>();
+        Map<String, Entree> nouveau = new LinkedHashMap<>();
+        for (String nom : noms) {
+            Path dossier = projet.resolve(nom);
+            long empreinte = empreinte(dossier);
+            Entree entree = cache.get(nom);
+            if (entree == null || entree.empreinte != empreinte) {
+                try {
+                    entree = analyser(dossier, nom, empreinte);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                    continue;
+                }
+                modifie = true;
+            }
+            nouveau.put(nom, entree);
+            Game g = new Game(games.size() + 1, nom, entree.description, "projet/" + nom, entree.imagePath,
+                    entree.lang, entree.input);
+            g.setMainClass(entree.mainClass);
+            games.add(g);
+        }
+
+        if (modifie || nouveau.size() != cache.size())
+            ecrire(fichier, dateProjet, nouveau);
+        return games;
+    }
+
+    /**
+     * Analyse le dossier d'un jeu.
+     */
+    private static Entree analyser(Path dossier, String nom, long empreinte) throws IOException {
+        Entree e = new Entree();
+        e.empreinte = empreinte;
+        e.lang = detectLang(dossier);
+        System.out.println(e.lang);
+        e.mainClass = pointEntree(dossier, nom, e.lang);
+        e.description = lireLignes(dossier.resolve("description.txt"), LIGNES_DESCRIPTION);
+        e.input = lireLignes(dossier.resolve("bouton.txt"), 1);
+        e.imagePath = Files.exists(dossier.resolve("photo_small.png")) ? "projet/" + nom + "/photo_small.png" : "";
+        return e;
+    }
+
+    /**
+     * Détecte le langage d'un jeu d'après les fichiers de son dossier, puis de son dossier src.
+     * @param gameDir Dossier du jeu.
+     * @return "Jar", "Java", "Lua", "Python" ou "Unknown".
+     * @throws IOException si un dossier ne peut pas être lu.
+     */
+    public static String detectLang(Path gameDir) throws IOException {
+
+        String lang = scanOneLevel(gameDir);
+        if (!lang.equals("Unknown"))
+            return lang;
+
+        Path srcDir = gameDir.resolve("src");
+        if (Files.exists(srcDir) && Files.isDirectory(srcDir)) {
+            lang = scanOneLevel(srcDir);
+        }
+
+        return lang;
+    }
+
+    /**
+     * Détecte le langage des fichiers d'un dossier, sans parcourir ses sous-dossiers.
+     * @param dir Dossier à analyser.
+     * @return "Jar", "Java", "Lua", "Python" ou "Unknown".
+     * @throws IOException si le dossier ne peut pas être lu.
+     */
+    public static String scanOneLevel(Path dir) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path p : stream) {
+                if (!Files.isRegularFile(p))
+                    continue;
+
+                String file = p.getFileName().toString().toLowerCase();
+
+                if(file.endsWith(".jar"))
+                    return "Jar";
+                if (file.endsWith(".java"))
+                    return "Java";
+                if(file.endsWith(".lua"))
+                    return "Lua";
+                if (file.endsWith(".py"))
+                    return "Python";
+            }
+        }
+        return "Unknown";
+    }
+
+    private static String pointEntree(Path dossier, String nom, String lang) {
+        switch (lang) {
+        case "Java":
+            return nom;
+        case "Jar":
+            try (JarFile jar = new JarFile(dossier.resolve(nom + ".jar").toFile())) {
+                return jar.getManifest().getMainAttributes().getValue("Main-Class");
+            } catch (Exception e) {
+                return "";
+            }
+        case "Python":
+            return "src/__main__.py";
+        case "Lua":
+            return "main.lua";
+        default:
+            return "";
+        }
+    }
+
+    /**
+     * Lit au plus {@code max} lignes d'un fichier texte, séparées par des retours à la ligne.
+     * Retourne une chaîne vide si le fichier n'existe pas.
+     */
+    private static String lireLignes(Path fichier, int max) {
+        if (!Files.exists(fichier))
+            return "";
+        StringBuilder texte = new StringBuilder();
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(new FileInputStream(fichier.toFile())))) {
+            String ligne;
+            for (int i = 0; i < max && (ligne = br.readLine()) != null; i++) {
+                if (i > 0)
+                    texte.append('\n');
+                texte.append(ligne);
+            }
+        } catch (IOException e) {
+            System.err.println(e.toString());
+        }
+        return texte.toString();
+    }
+
+    /**
+     * Empreinte d'un jeu : la plus récente des dates de modification de son dossier et des
+     * fichiers lus par le menu. Les modifications d'un fichier sur place ne changent pas la
+     * date du dossier, d'où la prise en compte des fichiers eux-mêmes.
+     */
+    static long empreinte(Path dossier) {
+        long empreinte = date(dossier);
+        empreinte = Math.max(empreinte, date(dossier.resolve("description.txt")));
+        empreinte = Math.max(empreinte, date(dossier.resolve("bouton.txt")));
+        return empreinte;
+    }
+
+    private static long date(Path chemin) {
+        try {
+            return Files.getLastModifiedTime(chemin).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static Contenu lire(Path fichier) {
+        Contenu lu = new Contenu();
+        if (!Files.exists(fichier))
+            return lu;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fichier)))) {
+            if (in.readInt() != VERSION)
+                return lu;
+            long dateProjet = in.readLong();
+            int nombre = in.readInt();
+            for (int i = 0; i < nombre; i++) {
+                String nom = in.readUTF();
+                Entree e = new Entree();
+                e.empreinte = in.readLong();
+                e.lang = in.readUTF();
+                e.mainClass = in.readUTF();
+                e.description = in.readUTF();
+                e.input = in.readUTF();
+                e.imagePath = in.readUTF();
+                lu.entrees.put(nom, e);
+            }
+            lu.dateProjet = dateProjet;
+        } catch (IOException e) {
+            System.err.println("Catalogue illisible, analyse complète de projet/ : " + e.getMessage());
+            return new Contenu();
+        }
+        return lu;
+    }
+
+    private static void ecrire(Path fichier, long dateProjet, Map<String, Entree> entrees) {
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaire)))) {
+            out.writeInt(VERSION);
+            out.writeLong(dateProjet);
+            out.writeInt(entrees.size());
+            for (Map.Entry<String, Entree> entree : entrees.entrySet()) {
+                Entree e = entree.getValue();
+                out.writeUTF(entree.getKey());
+                out.writeLong(e.empreinte);
+                out.writeUTF(e.lang);
+                out.writeUTF(e.mainClass);
+                out.writeUTF(e.description);
+                out.writeUTF(e.input);
+                out.writeUTF(e.imagePath);
+            }
+        } catch (IOException e) {
+            System.err.println("Impossible d'enregistrer le catalogue : " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Impossible d'enregistrer le catalogue : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Contenu d'un catalogue lu : date de {@code projet/} (-1 si aucun catalogue) et jeux.
+     */
+    private static class Contenu {
+        long dateProjet = -1;
+        final Map<String, Entree> entrees = new LinkedHashMap<>();
+    }
+
+    /**
+     * Informations enregistrées pour un jeu.
+     */
+    private static class Entree {
+        long empreinte;
+        String lang, mainClass, description, input, imagePath;
+    }
+}
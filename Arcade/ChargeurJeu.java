@@ -0,0 +1,230 @@
+package Arcade;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * Chargeur de classes isolé et jetable utilisé pour héberger un jeu dans la JVM du menu.
+ * <p>
+ * Son parent est le chargeur de plateforme : seules les classes du JDK sont partagées avec
+ * le menu. Les classes du jeu, de MG2D et du paquetage Arcade sont rechargées depuis le
+ * chemin de classes du jeu, dans le même ordre que pour un lancement en processus séparé
+ * ({@code .:MG2D.jar:..}). Les images et sons que MG2D charge par {@code getResource}
+ * sont donc bien cherchés d'abord dans le dossier du jeu.
+ * <p>
+ * Le dossier (ou l'archive) du jeu est cherché avant le reste du chemin de classes. Il peut
+ * être fixé après la création du chargeur, ce qui permet de précharger MG2D avant de savoir
+ * quel jeu sera lancé (voir {@link AmorceJVM}).
+ * <p>
+ * Chaque classe chargée voit ses appels à {@code System.exit(int)} redirigés vers
+ * {@link SortieJeu#exit(int)}, seule classe partagée avec le menu.
+ */
+public class ChargeurJeu extends URLClassLoader {
+
+    /**
+     * Classes fournies par le menu plutôt que rechargées dans le jeu.
+     */
+    private static final List<String> CLASSES_PARTAGEES = Arrays.asList("Arcade.SortieJeu");
+
+    private static final String SYSTEME = "java/lang/System";
+    private static final String SORTIE = "exit";
+    private static final String SIGNATURE_SORTIE = "(I)V";
+    private static final String REMPLACANT = "Arcade/SortieJeu";
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final ClassLoader menu;
+
+    /**
+     * Dossier ou archive du jeu, cherché en premier. Null tant que le jeu n'est pas connu.
+     */
+    private volatile URLClassLoader jeu;
+
+    /**
+     * Crée un chargeur pour le chemin de classes d'un jeu.
+     * @param chemins Chemin de classes commun (MG2D, Arcade), dans l'ordre de recherche.
+     * @param menu Chargeur du menu, qui fournit les classes partagées.
+     */
+    public ChargeurJeu(URL[] chemins, ClassLoader menu) {
+        super(chemins, ClassLoader.getPlatformClassLoader());
+        this.menu = menu;
+    }
+
+    /**
+     * Crée un chargeur pour le chemin de classes des jeux Java de la borne : {@code MG2D.jar}
+     * puis le dossier de la borne, qui contient le paquetage Arcade.
+     * @param menu Chargeur du menu, qui fournit les classes partagées.
+     * @return Un chargeur dont le jeu reste à fixer par {@link #setJeu(URL)}.
+     * @throws IOException si les chemins ne peuvent pas être convertis en URL.
+     */
+    public static ChargeurJeu pourJeuxJava(ClassLoader menu) throws IOException {
+        return new ChargeurJeu(new URL[] {
+                Paths.get("./MG2D.jar").toAbsolutePath().toUri().toURL(),
+                Paths.get(".").toAbsolutePath().normalize().toUri().toURL() }, menu);
+    }
+
+    /**
+     * Fixe le dossier ou l'archive du jeu, cherché avant le chemin de classes commun.
+     * Doit être appelée une seule fois, avant le chargement des classes du jeu.
+     * @param jeu URL du dossier (terminée par '/') ou de l'archive .jar du jeu.
+     */
+    public void setJeu(URL jeu) {
+        this.jeu = new URLClassLoader(new URL[] { jeu }, null);
+    }
+
+    @Override
+    public URL findResource(String name) {
+        URLClassLoader j = jeu;
+        if (j != null) {
+            URL url = j.findResource(name);
+            if (url != null)
+                return url;
+        }
+        return super.findResource(name);
+    }
+
+    @Override
+    public Enumeration<URL> findResources(String name) throws IOException {
+        URLClassLoader j = jeu;
+        if (j == null)
+            return super.findResources(name);
+        List<URL> urls = Collections.list(j.findResources(name));
+        urls.addAll(Collections.list(super.findResources(name)));
+        return Collections.enumeration(urls);
+    }
+
+    @Override
+    public void close() throws IOException {
+        URLClassLoader j = jeu;
+        if (j != null)
+            j.close();
+        super.close();
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        if (CLASSES_PARTAGEES.contains(name))
+            return menu.loadClass(name);
+        return super.loadClass(name, resolve);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        URL url = findResource(name.replace('.', '/') + ".class");
+        if (url == null)
+            throw new ClassNotFoundException(name);
+        try (InputStream in = url.openStream()) {
+            byte[] octets = redirigerSortie(in.readAllBytes());
+            return defineClass(name, octets, 0, octets.length);
+        } catch (IOException e) {
+            throw new ClassNotFoundException(name, e);
+        }
+    }
+
+    /**
+     * Redirige les appels à {@code System.exit(int)} d'un fichier .class vers {@link SortieJeu}.
+     * <p>
+     * Seul le pool de constantes est modifié : une entrée Class {@code Arcade/SortieJeu} y est
+     * ajoutée et chaque Methodref {@code java/lang/System.exit:(I)V} est rattachée à cette
+     * classe. Le reste du fichier est recopié tel quel, les indices existants ne changeant pas.
+     * @param classe Contenu du fichier .class.
+     * @return Le contenu modifié, ou le tableau d'origine s'il n'y a aucun appel à rediriger.
+     * @throws IOException si le fichier .class est mal formé.
+     */
+    static byte[] redirigerSortie(byte[] classe) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classe));
+        in.readInt(); // magic
+        in.readUnsignedShort(); // minor_version
+        in.readUnsignedShort(); // major_version
+        int nombre = in.readUnsignedShort();
+        int debutPool = 10;
+
+        int[] tags = new int[nombre];
+        int[] positions = new int[nombre];
+        String[] textes = new String[nombre];
+        int position = debutPool;
+        for (int i = 1; i < nombre; i++) {
+            int tag = classe[position] & 0xFF;
+            tags[i] = tag;
+            positions[i] = position;
+            int taille;
+            switch (tag) {
+            case 1: // Utf8
+                int longueur = ((classe[position + 1] & 0xFF) << 8) | (classe[position + 2] & 0xFF);
+                textes[i] = new String(classe, position + 3, longueur, StandardCharsets.UTF_8);
+                taille = 3 + longueur;
+                break;
+            case 7: case 8: case 16: case 19: case 20: // Class, String, MethodType, Module, Package
+                taille = 3;
+                break;
+            case 15: // MethodHandle
+                taille = 4;
+                break;
+            case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                taille = 5;
+                break;
+            case 5: case 6: // Long, Double : occupent deux entrées
+                taille = 9;
+                i++;
+                break;
+            default:
+                throw new IOException("Tag de constante inconnu : " + tag);
+            }
+            position += taille;
+        }
+        int finPool = position;
+
+        List<Integer> appels = new ArrayList<>();
+        for (int i = 1; i < nombre; i++) {
+            if (tags[i] != 10)
+                continue;
+            int indiceClasse = lireU2(classe, positions[i] + 1);
+            int indiceNomType = lireU2(classe, positions[i] + 3);
+            String nomClasse = textes[lireU2(classe, positions[indiceClasse] + 1)];
+            String nom = textes[lireU2(classe, positions[indiceNomType] + 1)];
+            String signature = textes[lireU2(classe, positions[indiceNomType] + 3)];
+            if (SYSTEME.equals(nomClasse) && SORTIE.equals(nom) && SIGNATURE_SORTIE.equals(signature))
+                appels.add(i);
+        }
+        if (appels.isEmpty())
+            return classe;
+
+        byte[] modifie = classe.clone();
+        int indiceRemplacant = nombre + 1;
+        for (int appel : appels) {
+            modifie[positions[appel] + 1] = (byte) (indiceRemplacant >> 8);
+            modifie[positions[appel] + 2] = (byte) indiceRemplacant;
+        }
+
+        ByteArrayOutputStream tampon = new ByteArrayOutputStream(classe.length + 32);
+        DataOutputStream out = new DataOutputStream(tampon);
+        out.write(modifie, 0, 8);
+        out.writeShort(nombre + 2);
+        out.write(modifie, debutPool, finPool - debutPool);
+        out.writeByte(1);
+        out.writeUTF(REMPLACANT);
+        out.writeByte(7);
+        out.writeShort(nombre);
+        out.write(modifie, finPool, modifie.length - finPool);
+        return tampon.toByteArray();
+    }
+
+    private static int lireU2(byte[] octets, int position) {
+        return ((octets[position] & 0xFF) << 8) | (octets[position + 1] & 0xFF);
+    }
+}
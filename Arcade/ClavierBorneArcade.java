@@ -2,11 +2,14 @@ package Arcade;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Cette classe implémente les méthodes de KeyListener permettant la gestion du clavier.
  * <br /><br />
- * Elle permet de gérer le clavier dans des applications développées pour la borne d'arcade de l'IUT.<br />
+ * Elle permet de gérer le clavier dans des applications développées pour la borne d'arcade de l'IUT. C'est la bibliothèque d'entrées commune à la borne et aux jeux Java, qui l'importent par <code>import Arcade.ClavierBorneArcade;</code> : le dossier de la borne est dans leur chemin de classes.<br />
  * 
  * Les joysticks sont nommés joyJ1 et joyJ2. joyJ1Haut la touche envoyée lorsque le joystick 1 est poussé vers le haut, joyJ1Bas, joyJ1Gauche, joyJ1Droite lorsqu'il est poussé, respectivement, vers le bas, la gauche et la droite.<br />
  *
@@ -14,75 +17,92 @@ import java.awt.event.KeyListener;
  *
  * Pour chacune des directions des joysticks ou des boutons, deux méthodes seront présentes : une méthode pour savoir si la direction ou le bouton est pressé ou une autre méthode pour savoir s'il a été pressé.
  *
- * Elle fonctionne sur le principe de booléen que l'on change quand on appuie ou relâche les touches.
+ * L'état des touches est gardé dans des masques de bits partagés sans verrou entre le fil AWT, qui reçoit les touches, et la boucle du jeu, qui les lit : un appui est visible du jeu dès qu'il est reçu, et une touche tapée le reste jusqu'à ce que le jeu la lise.<br />
+ *
+ * Les touches enfoncées et les appuis pas encore lus tiennent dans un seul <code>long</code>, mis à jour atomiquement, avec 16 bits par joueur : un jeu lit toutes les touches des deux joueurs d'un coup par {@link #instantane()}, une fois par image, puis les teste par {@link #estEnfoncee(long, int)} et {@link #estAppuyee(long, int)}.
+ * <pre>
+ * long touches = clavier.instantane();
+ * if (ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_HAUT)) ...
+ * if (ClavierBorneArcade.estAppuyee(touches, ClavierBorneArcade.J2_A)) ...
+ * </pre>
+ *
+ * Chaque appui et relâchement est aussi déposé avec son instant ({@link System#nanoTime()}) dans une file sans verrou. Un jeu qui appelle {@link #lireEtat()} une fois par image obtient un {@link EtatClavier} immuable : les touches enfoncées, appuyées et relâchées depuis l'image précédente, et la liste des événements, même quand un appui et son relâchement tombent dans la même image.
  */
 public class ClavierBorneArcade implements KeyListener {
 
+    // Constantes //
+
+    /** Joystick du joueur 1 poussé vers la gauche (flèche gauche). */
+    public static final int J1_GAUCHE = 0;
+    /** Joystick du joueur 1 poussé vers la droite (flèche droite). */
+    public static final int J1_DROITE = 1;
+    /** Joystick du joueur 1 poussé vers le haut (flèche haut). */
+    public static final int J1_HAUT = 2;
+    /** Joystick du joueur 1 poussé vers le bas (flèche bas). */
+    public static final int J1_BAS = 3;
+    /** Bouton A du joueur 1 (touche f). */
+    public static final int J1_A = 4;
+    /** Bouton B du joueur 1 (touche g). */
+    public static final int J1_B = 5;
+    /** Bouton C du joueur 1 (touche h). */
+    public static final int J1_C = 6;
+    /** Bouton X du joueur 1 (touche r). */
+    public static final int J1_X = 7;
+    /** Bouton Y du joueur 1 (touche t). */
+    public static final int J1_Y = 8;
+    /** Bouton Z du joueur 1 (touche y). */
+    public static final int J1_Z = 9;
+    /** Joystick du joueur 2 poussé vers la gauche (touche k). */
+    public static final int J2_GAUCHE = 10;
+    /** Joystick du joueur 2 poussé vers la droite (touche m). */
+    public static final int J2_DROITE = 11;
+    /** Joystick du joueur 2 poussé vers le haut (touche o). */
+    public static final int J2_HAUT = 12;
+    /** Joystick du joueur 2 poussé vers le bas (touche l). */
+    public static final int J2_BAS = 13;
+    /** Bouton A du joueur 2 (touche q). */
+    public static final int J2_A = 14;
+    /** Bouton B du joueur 2 (touche s). */
+    public static final int J2_B = 15;
+    /** Bouton C du joueur 2 (touche d). */
+    public static final int J2_C = 16;
+    /** Bouton X du joueur 2 (touche a). */
+    public static final int J2_X = 17;
+    /** Bouton Y du joueur 2 (touche z). */
+    public static final int J2_Y = 18;
+    /** Bouton Z du joueur 2 (touche e). */
+    public static final int J2_Z = 19;
+
+    // Nombre de touches par joueur : chaque touche du joueur 2 est celle du joueur 1 plus TOUCHES_JOUEUR, par exemple J2_A == J1_A + TOUCHES_JOUEUR
+    private static final int TOUCHES_JOUEUR = 10;
+    // Premier bit du joueur 2 dans le long de instantane(), pour que chaque joueur ait ses 16 bits
+    private static final int JOUEUR2 = 16;
+
+    /**
+     * Nombre maximal d'événements en attente entre deux appels à {@link #lireEtat()}.
+     */
+    private static final int CAPACITE = 256;
+
     // Attributs //
 
-    private boolean gauche;
-    private boolean gaucheTape;
-    private boolean droite;
-    private boolean droiteTape;
-    private boolean haut;
-    private boolean hautTape;
-    private boolean bas;
-    private boolean basTape;
-
-    private boolean a;
-    private boolean aTape;
-    private boolean z;
-    private boolean zTape;
-    private boolean e;
-    private boolean eTape;
-    private boolean q;
-    private boolean qTape;
-    private boolean s;
-    private boolean sTape;
-    private boolean d;
-    private boolean dTape;
-    private boolean b;
-    private boolean bTape;
-   
-    private boolean k;
-    private boolean kTape;
-    private boolean l;
-    private boolean lTape;
-    private boolean m;
-    private boolean mTape;
-    private boolean o;
-    private boolean oTape;
-    
-    private boolean f;
-    private boolean fTape;
-    private boolean g;
-    private boolean gTape;
-    private boolean h;
-    private boolean hTape;
-    private boolean r;
-    private boolean rTape;
-    private boolean t;
-    private boolean tTape;
-    private boolean y;
-    private boolean yTape;
-   
+    // Touches enfoncées (bits 0 à 31) et appuis pas encore lus par instantane() (bits 32 à 63), un bit par touche placé par bit()
+    private static final long ENFONCEES = 0xFFFFFFFFL;
+    private final AtomicLong touches = new AtomicLong();
+    // Touches tapées (relâchées) pas encore lues par les méthodes ...Tape()
+    private final AtomicInteger tapees = new AtomicInteger();
+
+    // Événements horodatés, et état construit à partir d'eux par la boucle du jeu
+    private final FileEvenementsClavier file = new FileEvenementsClavier(CAPACITE);
+    private final int[] evenementsLus = new int[CAPACITE];
+    private final long[] instantsLus = new long[CAPACITE];
+    private int etat = 0;
 
     // Constructeur //
 
     /**
-     * Crée un clavier et initialise tous les attributs à faux pour touches relâchés.
+     * Crée un clavier, toutes les touches relâchées.
      */
     public ClavierBorneArcade () {
-
-	gauche = gaucheTape = droite = droiteTape = false;
-	haut = hautTape = bas = basTape = false;
-
-
-	a = d = e = k = l = m = o = q = s = z = false;
-	aTape = dTape = eTape = kTape = lTape = mTape = oTape = qTape = sTape = zTape = false;
-	f = g = h = r = t = y = false;
-	fTape = gTape = hTape = rTape = tTape = yTape = false;
-	
     }
 
     // Accesseurs //
@@ -94,8 +114,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche gauche" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ1GaucheEnfoncee () {
-
-	return gauche;
+	return toucheEnfoncee(J1_GAUCHE);
     }
 
     /**
@@ -103,9 +122,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche gauche tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ1GaucheTape () {
-	boolean aRetourner=gaucheTape;
-	gaucheTape=false;
-	return aRetourner;
+	return tape(J1_GAUCHE);
     }
 
     /**
@@ -113,8 +130,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche droite" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ1DroiteEnfoncee () {
-
-	return droite;
+	return toucheEnfoncee(J1_DROITE);
     }
 
     /**
@@ -122,9 +138,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche droite tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ1DroiteTape () {
-	boolean aRetourner=droiteTape;
-	droiteTape=false;
-	return aRetourner;
+	return tape(J1_DROITE);
     }
 
 
@@ -133,8 +147,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche haut" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ1HautEnfoncee () {
-
-	return haut;
+	return toucheEnfoncee(J1_HAUT);
     }
 
     /**
@@ -142,9 +155,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche haut tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ1HautTape () {
-	boolean aRetourner=hautTape;
-	hautTape=false;
-	return aRetourner;
+	return tape(J1_HAUT);
     }
 
 
@@ -153,8 +164,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche bas" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ1BasEnfoncee () {
-
-	return bas;
+	return toucheEnfoncee(J1_BAS);
     }
 
     /**
@@ -162,9 +172,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "flèche bas tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ1BasTape () {
-	boolean aRetourner=basTape;
-	basTape=false;
-	return aRetourner;
+	return tape(J1_BAS);
     }
 
 
@@ -175,8 +183,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "a" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2XEnfoncee () {
-
-	return a;
+	return toucheEnfoncee(J2_X);
     }
 
     /**
@@ -184,9 +191,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "a tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2XTape () {
-	boolean aRetourner=aTape;
-	aTape=false;
-	return aRetourner;
+	return tape(J2_X);
     }
 
 
@@ -196,8 +201,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "z" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2YEnfoncee () {
-
-	return z;
+	return toucheEnfoncee(J2_Y);
     }
 
     /**
@@ -205,9 +209,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "z tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2YTape () {
-	boolean aRetourner=zTape;
-	zTape=false;
-	return aRetourner;
+	return tape(J2_Y);
     }
 
 
@@ -217,8 +219,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "e" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2ZEnfoncee () {
-
-	return e;
+	return toucheEnfoncee(J2_Z);
     }
 
     /**
@@ -226,9 +227,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "e tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2ZTape () {
-	boolean aRetourner=eTape;
-	eTape=false;
-	return aRetourner;
+	return tape(J2_Z);
     }
 
 
@@ -238,8 +237,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "q" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2AEnfoncee () {
-
-	return q;
+	return toucheEnfoncee(J2_A);
     }
 
     /**
@@ -247,9 +245,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "q tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2ATape () {
-	boolean aRetourner=qTape;
-	qTape=false;
-	return aRetourner;
+	return tape(J2_A);
     }
 
 
@@ -259,8 +255,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "s" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2BEnfoncee () {
-
-	return s;
+	return toucheEnfoncee(J2_B);
     }
 
     /**
@@ -268,9 +263,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "s tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2BTape () {
-	boolean aRetourner=sTape;
-	sTape=false;
-	return aRetourner;
+	return tape(J2_B);
     }
 
 
@@ -280,8 +273,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "d" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ2CEnfoncee () {
-
-	return d;
+	return toucheEnfoncee(J2_C);
     }
 
     /**
@@ -289,9 +281,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "d tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ2CTape () {
-	boolean aRetourner=dTape;
-	dTape=false;
-	return aRetourner;
+	return tape(J2_C);
     }
 
    
@@ -302,8 +292,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "k" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ2GaucheEnfoncee () {
-    	
-	return k;
+	return toucheEnfoncee(J2_GAUCHE);
     }
 
     /**
@@ -311,9 +300,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "k tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ2GaucheTape () {
-	boolean aRetourner=kTape;
-	kTape=false;
-	return aRetourner;
+	return tape(J2_GAUCHE);
     }
 
 
@@ -322,8 +309,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "l" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ2BasEnfoncee () {
-
-	return l;
+	return toucheEnfoncee(J2_BAS);
     }
 
     /**
@@ -331,9 +317,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "l tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ2BasTape () {
-	boolean aRetourner=lTape;
-	lTape=false;
-	return aRetourner;
+	return tape(J2_BAS);
     }
 
     /**
@@ -341,9 +325,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "m tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ2DroiteTape () {
-	boolean aRetourner=mTape;
-	mTape=false;
-	return aRetourner;
+	return tape(J2_DROITE);
     }
 
 
@@ -352,8 +334,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "m" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ2DroiteEnfoncee () {
-
-	return m;
+	return toucheEnfoncee(J2_DROITE);
     }
 
 
@@ -364,8 +345,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "o" : vrai pour enfoncée, faux sinon.
      */
     public boolean getJoyJ2HautEnfoncee () {
-
-	return o;
+	return toucheEnfoncee(J2_HAUT);
     }
 
     /**
@@ -373,9 +353,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "o tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getJoyJ2HautTape () {
-	boolean aRetourner=oTape;
-	oTape=false;
-	return aRetourner;
+	return tape(J2_HAUT);
     }
 
    
@@ -385,9 +363,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "f tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1ATape () {
-	boolean aRetourner=fTape;
-	fTape=false;
-	return aRetourner;
+	return tape(J1_A);
     }
 
 
@@ -396,8 +372,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "f" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1AEnfoncee () {
-    	
-	return f;
+	return toucheEnfoncee(J1_A);
     }
 
     /**
@@ -405,9 +380,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "g tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1BTape () {
-	boolean aRetourner=gTape;
-	gTape=false;
-	return aRetourner;
+	return tape(J1_B);
     }
 
 
@@ -416,8 +389,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "g" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1BEnfoncee () {
-    	
-	return g;
+	return toucheEnfoncee(J1_B);
     }
 
     /**
@@ -425,9 +397,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "h tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1CTape () {
-	boolean aRetourner=hTape;
-	hTape=false;
-	return aRetourner;
+	return tape(J1_C);
     }
 
 
@@ -436,8 +406,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "h" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1CEnfoncee () {
-    	
-	return h;
+	return toucheEnfoncee(J1_C);
     }
 
     /**
@@ -445,9 +414,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "r tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1XTape () {
-	boolean aRetourner=rTape;
-	rTape=false;
-	return aRetourner;
+	return tape(J1_X);
     }
 
 
@@ -456,8 +423,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "r" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1XEnfoncee () {
-    	
-	return r;
+	return toucheEnfoncee(J1_X);
     }
 
     /**
@@ -465,9 +431,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "t tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1YTape () {
-	boolean aRetourner=tTape;
-	tTape=false;
-	return aRetourner;
+	return tape(J1_Y);
     }
 
 
@@ -476,8 +440,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "t" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1YEnfoncee () {
-    	
-	return t;
+	return toucheEnfoncee(J1_Y);
     }
 
     /**
@@ -485,9 +448,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "y tapée" : vrai pour tapée, faux sinon.
      */
     public boolean getBoutonJ1ZTape () {
-	boolean aRetourner=yTape;
-	yTape=false;
-	return aRetourner;
+	return tape(J1_Z);
     }
 
 
@@ -496,8 +457,7 @@ public class ClavierBorneArcade implements KeyListener {
      * @return retourne la valeur du booléen correspondant à la touche "y" : vrai pour enfoncée, faux sinon.
      */
     public boolean getBoutonJ1ZEnfoncee () {
-    	
-	return y;
+	return toucheEnfoncee(J1_Z);
     }
 
       
@@ -506,18 +466,146 @@ public class ClavierBorneArcade implements KeyListener {
     // Méthodes //
 
     /**
-     * Méthode permettant la reinitialisation du clavier. Reinitialisation de tous les événements.
+     * Méthode permettant la reinitialisation du clavier. Reinitialisation de tous les événements.<br />
+     * Les événements en attente sont jetés : à appeler par la boucle du jeu, comme {@link #lireEtat()}.
      */
     public void reinitialisation(){
-	gauche = gaucheTape = droite = droiteTape = false;
-	haut = hautTape = bas = basTape = false;
+	touches.set(0);
+	tapees.set(0);
+	while (file.retirer(evenementsLus, instantsLus) > 0)
+	    ;
+	etat = 0;
+    }
+
+    /**
+     * Lit d'un coup l'état de toutes les touches des deux joueurs, et oublie les appuis lus.<br />
+     * À appeler une fois par image, toujours par le même fil d'exécution.
+     * @return Les touches enfoncées dans les 32 bits de poids faible, et les touches appuyées depuis l'appel précédent dans les 32 bits de poids fort, à tester par {@link #estEnfoncee(long, int)} et {@link #estAppuyee(long, int)}.
+     */
+    public long instantane(){
+	return touches.getAndAccumulate(ENFONCEES, (valeur, garde) -> valeur & garde);
+    }
+
+    /**
+     * Indique si une touche est enfoncée dans un état lu par {@link #instantane()}.
+     * @param touches L'état des touches.
+     * @param touche La touche, par exemple {@link #J1_HAUT}.
+     * @return Vrai si la touche était enfoncée.
+     */
+    public static boolean estEnfoncee(long touches, int touche){
+	return (touches >>> bit(touche) & 1) != 0;
+    }
+
+    /**
+     * Indique si une touche a été appuyée entre deux appels à {@link #instantane()}, même si elle a été relâchée depuis.
+     * @param touches L'état des touches.
+     * @param touche La touche, par exemple {@link #J2_A}.
+     * @return Vrai si la touche a été appuyée.
+     */
+    public static boolean estAppuyee(long touches, int touche){
+	return (touches >>> (32 + bit(touche)) & 1) != 0;
+    }
 
+    /**
+     * Donne les touches enfoncées d'un joueur dans un état lu par {@link #instantane()}.
+     * @param touches L'état des touches.
+     * @param joueur Le joueur, 1 ou 2.
+     * @return Le masque des touches enfoncées du joueur, le bit <code>1 &lt;&lt; J1_...</code> pour chacune.
+     */
+    public static int enfonceesJoueur(long touches, int joueur){
+	return (int) (touches >>> (joueur - 1) * JOUEUR2) & 0xFFFF;
+    }
 
-	a = d = e = k = l = m = o = q = s = z = false;
-	aTape = dTape = eTape = kTape = lTape = mTape = oTape = qTape = sTape = zTape = false;
-	f = g = h = r = t = y = false;
-	fTape = gTape = hTape = rTape = tTape = yTape = false;
-	
+    /**
+     * Donne les touches appuyées d'un joueur dans un état lu par {@link #instantane()}.
+     * @param touches L'état des touches.
+     * @param joueur Le joueur, 1 ou 2.
+     * @return Le masque des touches appuyées par le joueur, le bit <code>1 &lt;&lt; J1_...</code> pour chacune.
+     */
+    public static int appuyeesJoueur(long touches, int joueur){
+	return (int) (touches >>> 32 + (joueur - 1) * JOUEUR2) & 0xFFFF;
+    }
+
+    /**
+     * Retire les appuis et relâchements reçus depuis l'appel précédent et donne l'état des touches qui en résulte.<br />
+     * À appeler une fois par image, toujours par le même fil d'exécution.
+     * @return L'état des touches à cet instant.
+     */
+    public EtatClavier lireEtat(){
+	long instant = System.nanoTime();
+	int n = file.retirer(evenementsLus, instantsLus);
+	int appuyees = 0;
+	int relachees = 0;
+	for (int i = 0; i < n; i++) {
+	    int bit = 1 << (evenementsLus[i] & ~EtatClavier.APPUI);
+	    if ((evenementsLus[i] & EtatClavier.APPUI) != 0) {
+		etat |= bit;
+		appuyees |= bit;
+	    } else {
+		etat &= ~bit;
+		relachees |= bit;
+	    }
+	}
+	return new EtatClavier(instant, etat, appuyees, relachees, Arrays.copyOf(evenementsLus, n), Arrays.copyOf(instantsLus, n));
+    }
+
+    /**
+     * Donne le nombre d'événements perdus parce que {@link #lireEtat()} n'a pas été appelée assez souvent.
+     * @return Le nombre d'événements perdus depuis la création du clavier.
+     */
+    public long getEvenementsPerdus(){
+	return file.getPerdus();
+    }
+
+    /**
+     * Indique si une touche est enfoncée, sans toucher aux appuis lus par {@link #instantane()}.
+     * @param touche La touche, par exemple {@link #J1_A}.
+     * @return Vrai si la touche est enfoncée.
+     */
+    public boolean toucheEnfoncee(int touche){
+	return estEnfoncee(touches.get(), touche);
+    }
+
+    /**
+     * Donne la position d'une touche dans le long de {@link #instantane()} : les touches du joueur 1 dans les bits 0 à 15, celles du joueur 2 dans les bits 16 à 31.
+     */
+    private static int bit(int touche){
+	return touche < TOUCHES_JOUEUR ? touche : touche - TOUCHES_JOUEUR + JOUEUR2;
+    }
+
+    private boolean tape(int touche){
+	int bit = 1 << touche;
+	return (tapees.getAndAccumulate(~bit, (masque, garde) -> masque & garde) & bit) != 0;
+    }
+
+    /**
+     * Donne la touche de la borne correspondant à une touche du clavier.
+     * @return La touche, ou -1 si elle n'est pas utilisée par la borne.
+     */
+    private static int touche(int code){
+	switch (code) {
+	case KeyEvent.VK_LEFT: return J1_GAUCHE;
+	case KeyEvent.VK_RIGHT: return J1_DROITE;
+	case KeyEvent.VK_UP: return J1_HAUT;
+	case KeyEvent.VK_DOWN: return J1_BAS;
+	case KeyEvent.VK_F: return J1_A;
+	case KeyEvent.VK_G: return J1_B;
+	case KeyEvent.VK_H: return J1_C;
+	case KeyEvent.VK_R: return J1_X;
+	case KeyEvent.VK_T: return J1_Y;
+	case KeyEvent.VK_Y: return J1_Z;
+	case KeyEvent.VK_K: return J2_GAUCHE;
+	case KeyEvent.VK_M: return J2_DROITE;
+	case KeyEvent.VK_O: return J2_HAUT;
+	case KeyEvent.VK_L: return J2_BAS;
+	case KeyEvent.VK_Q: return J2_A;
+	case KeyEvent.VK_S: return J2_B;
+	case KeyEvent.VK_D: return J2_C;
+	case KeyEvent.VK_A: return J2_X;
+	case KeyEvent.VK_Z: return J2_Y;
+	case KeyEvent.VK_E: return J2_Z;
+	default: return -1;
+	}
     }
 
     /**
@@ -533,118 +621,13 @@ public class ClavierBorneArcade implements KeyListener {
      */
     @Override
     public void keyReleased ( KeyEvent key ) {
-	switch (key.getKeyCode()) {
-
-	case KeyEvent.VK_F:
-	    f = false;
-	    fTape = true;
-	    break;
-
-	case KeyEvent.VK_G:
-	    g = false;
-	    gTape = true;
-	    break;
-
-	case KeyEvent.VK_H:
-	    h = false;
-	    hTape = true;
-	    break;
-
-	case KeyEvent.VK_R:
-	    r = false;
-	    rTape = true;
-	    break;
-
-	case KeyEvent.VK_T:
-	    t = false;
-	    tTape = true;
-	    break;
-
-	case KeyEvent.VK_Y:
-	    y = false;
-	    yTape = true;
-	    break;
-
-	case KeyEvent.VK_LEFT:
-	    gauche = false;
-	    gaucheTape = true;
-	    break;
-
-	case KeyEvent.VK_RIGHT:
-	    droite = false;
-	    droiteTape = true;
-	    break;
-
-	case KeyEvent.VK_UP:
-	    haut = false;
-	    hautTape = true;
-	    break;
-
-	case KeyEvent.VK_DOWN:
-	    bas = false;
-	    basTape = true;
-	    break;
-
-
-	case KeyEvent.VK_A:
-	    a = false;
-	    aTape = true;
-	    break;
-
-
-	case KeyEvent.VK_D:
-	    d = false;
-	    dTape = true;
-	    break;
-
-	case KeyEvent.VK_E:
-	    e = false;
-	    eTape = true;
-	    break;
-
-	case KeyEvent.VK_K:
-	    k = false;
-	    kTape = true;
-	    break;
-
-	case KeyEvent.VK_L:
-	    l = false;
-	    lTape = true;
-	    break;
-
-	case KeyEvent.VK_M:
-	    m = false;
-	    mTape = true;
-	    break;
-
-
-
-	case KeyEvent.VK_O:
-	    o = false;
-	    oTape = true;
-	    break;
-
-
-
-	case KeyEvent.VK_Q:
-	    q = false;
-	    qTape = true;
-	    break;
-
-
-
-	case KeyEvent.VK_S:
-	    s = false;
-	    sTape = true;
-	    break;
-
-
-
-	case KeyEvent.VK_Z:
-	    z = false;
-	    zTape = true;
-	    break;
-	}
+	int touche = touche(key.getKeyCode());
+	if (touche < 0)
+	    return;
+	tapees.getAndAccumulate(1 << touche, (masque, ajout) -> masque | ajout);
+	long bit = 1L << bit(touche);
+	if ((touches.getAndAccumulate(~bit, (valeur, garde) -> valeur & garde) & bit) != 0)
+	    file.deposer(touche, System.nanoTime());
     }
 
     /**
@@ -669,104 +652,17 @@ public class ClavierBorneArcade implements KeyListener {
      */
     @Override
     public void keyPressed(KeyEvent key) {
-
-	switch (key.getKeyCode()) {
-
-	case KeyEvent.VK_F:
-	    f = true;
-	    break;
-
-	case KeyEvent.VK_G:
-	    g = true;
-	    break;
-
-	case KeyEvent.VK_H:
-	    h = true;
-	    break;
-
-	case KeyEvent.VK_R:
-	    r = true;
-	    break;
-
-	case KeyEvent.VK_T:
-	    t = true;
-	    break;
-
-	case KeyEvent.VK_Y:
-	    y = true;
-	    break;
-
-
-
-	case KeyEvent.VK_LEFT:
-	    gauche = true;
-	    break;
-
-	case KeyEvent.VK_RIGHT:
-	    droite = true;
-	    break;
-
-	case KeyEvent.VK_UP:
-	    haut = true;
-	    break;
-
-	case KeyEvent.VK_DOWN:
-	    bas = true;
-	    break;
-
-
-
-	case KeyEvent.VK_A:
-	    a = true;
-	    break;
-
-
-
-	case KeyEvent.VK_D:
-	    d = true;
-	    break;
-
-	case KeyEvent.VK_E:
-	    e = true;
-	    break;
-
-
-
-	case KeyEvent.VK_K:
-	    k = true;
-	    break;
-
-	case KeyEvent.VK_L:
-	    l = true;
-	    break;
-
-	case KeyEvent.VK_M:
-	    m = true;
-	    break;
-
-
-
-	case KeyEvent.VK_O:
-	    o = true;
-	    break;
-
-
-
-	case KeyEvent.VK_Q:
-	    q = true;
-	    break;
-
-	
-
-	case KeyEvent.VK_S:
-	    s = true;
-	    break;
-
-	    
-
-	case KeyEvent.VK_Z:
-	    z = true;
-	    break;
-	}
+	int touche = touche(key.getKeyCode());
+	if (touche < 0)
+	    return;
+	long bit = 1L << bit(touche);
+	// la répétition automatique d'une touche maintenue n'est pas un nouvel appui
+	long avant;
+	do {
+	    avant = touches.get();
+	    if ((avant & bit) != 0)
+		return;
+	} while (!touches.compareAndSet(avant, avant | bit | bit << 32));
+	file.deposer(touche | EtatClavier.APPUI, System.nanoTime());
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package Arcade;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Dossier du jeu en cours, contre lequel les jeux résolvent leurs chemins relatifs.
+ * <p>
+ * Un jeu lancé dans son propre processus a son dossier pour répertoire courant : un chemin
+ * relatif comme {@code "highscore"} désigne donc le fichier du jeu. Un jeu hébergé par
+ * {@link HoteJeu} (dans la JVM du menu ou dans une JVM de réserve) garde le répertoire
+ * courant du menu, la JVM ne pouvant pas en changer. L'hôte fixe alors le dossier du jeu
+ * dans la copie de cette classe chargée par le {@link ChargeurJeu} du jeu, et les lectures
+ * et écritures passant par {@link #fichier(String)} atteignent le même fichier dans les
+ * deux modes.
+ */
+public final class DossierJeu {
+
+    /**
+     * Dossier du jeu hébergé, null si le jeu a son dossier pour répertoire courant.
+     */
+    private static volatile Path dossier = null;
+
+    private DossierJeu() {
+    }
+
+    /**
+     * Résout un chemin de fichier du jeu.
+     * @param chemin Chemin absolu, ou relatif au dossier du jeu.
+     * @return Le fichier désigné, dans le dossier du jeu si le chemin est relatif.
+     */
+    public static File fichier(String chemin) {
+        Path d = dossier;
+        File f = new File(chemin);
+        if (d == null || f.isAbsolute())
+            return f;
+        return d.resolve(chemin).toFile();
+    }
+
+    /**
+     * Retourne le dossier du jeu en cours.
+     * @return Le dossier fixé par l'hôte, ou le répertoire courant.
+     */
+    public static Path getDossier() {
+        Path d = dossier;
+        return d != null ? d : Paths.get("").toAbsolutePath();
+    }
+
+    /**
+     * Fixe le dossier du jeu. Appelée par {@link HoteJeu}, par réflexion sur la copie de la
+     * classe chargée par le jeu.
+     * @param d Dossier absolu du jeu, null pour revenir au répertoire courant.
+     */
+    static void definir(Path d) {
+        dossier = d;
+    }
+}
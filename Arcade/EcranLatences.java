@@ -0,0 +1,105 @@
+package Arcade;
+
+import java.awt.Font;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import MG2D.Couleur;
+import MG2D.Fenetre;
+import MG2D.geometrie.Point;
+import MG2D.geometrie.Texte;
+import MG2D.geometrie.Texture;
+
+/**
+ * Écran caché du menu affichant les temps de lancement des jeux.
+ * <p>
+ * Il s'ouvre en maintenant le bouton X du joueur 1 puis en appuyant sur Y, et se ferme avec
+ * Y, A ou Z. Pour chaque jeu du journal de {@link LatenceLancement}, du plus lent au plus
+ * rapide, il affiche le nombre de lancements mesurés puis la médiane et le 95e centile du
+ * temps entre l'appui sur A et le démarrage du jeu, puis sa première image.
+ */
+public class EcranLatences {
+
+    /**
+     * Nombre maximal de jeux affichés.
+     */
+    private static final int LIGNES = 20;
+
+    private final Texture fond;
+    private final Texte titre;
+    private final Texte entete;
+    private final Texte[] lignes;
+    private boolean affiche = false;
+
+    /**
+     * Crée l'écran, sans l'afficher.
+     */
+    public EcranLatences() {
+        Font police = Ressources.police("fonts/PrStart.ttf", 14.0f);
+        fond = Ressources.texture("img/blancTransparent.png", new Point(0, 0), 1280, 1024);
+        titre = new Texte(Couleur.NOIR, "Temps de lancement (ms)", Ressources.police("fonts/PrStart.ttf", 24.0f),
+                new Point(640, 960));
+        entete = new Texte(Couleur.NOIR, ligne("jeu", "n", "dem50", "dem95", "img50", "img95"), police,
+                new Point(640, 900));
+        lignes = new Texte[LIGNES];
+        for (int i = 0; i < LIGNES; i++)
+            lignes[i] = new Texte(Couleur.NOIR, "", police, new Point(640, 860 - i * 38));
+    }
+
+    /**
+     * Indique si l'écran est affiché.
+     * @return Vrai si l'écran est affiché.
+     */
+    public boolean estAffiche() {
+        return affiche;
+    }
+
+    /**
+     * Relit le journal des lancements et affiche l'écran par-dessus le menu.
+     * @param f Fenêtre du menu.
+     */
+    public void afficher(Fenetre f) {
+        List<Map.Entry<String, long[]>> jeux = new ArrayList<>(LatenceLancement.statistiques().entrySet());
+        // du plus lent au plus rapide à afficher sa première image
+        jeux.sort((a, b) -> Long.compare(b.getValue()[4], a.getValue()[4]));
+        for (int i = 0; i < LIGNES; i++) {
+            if (i < jeux.size()) {
+                long[] s = jeux.get(i).getValue();
+                lignes[i].setTexte(ligne(jeux.get(i).getKey(), Long.toString(s[0]), duree(s[1]), duree(s[2]),
+                        duree(s[3]), duree(s[4])));
+            } else {
+                lignes[i].setTexte(i == 0 ? "Aucun lancement mesure" : "");
+            }
+        }
+        f.ajouter(fond);
+        f.ajouter(titre);
+        f.ajouter(entete);
+        for (Texte ligne : lignes)
+            f.ajouter(ligne);
+        affiche = true;
+    }
+
+    /**
+     * Retire l'écran du menu.
+     * @param f Fenêtre du menu.
+     */
+    public void masquer(Fenetre f) {
+        f.supprimer(fond);
+        f.supprimer(titre);
+        f.supprimer(entete);
+        for (Texte ligne : lignes)
+            f.supprimer(ligne);
+        affiche = false;
+    }
+
+    private static String ligne(String jeu, String n, String d50, String d95, String i50, String i95) {
+        if (jeu.length() > 16)
+            jeu = jeu.substring(0, 16);
+        return String.format("%-16s %3s %6s %6s %6s %6s", jeu, n, d50, d95, i50, i95);
+    }
+
+    private static String duree(long ms) {
+        return ms < 0 ? "-" : Long.toString(ms);
+    }
+}
@@ -0,0 +1,113 @@
+package Arcade;
+
+/**
+ * État des touches de la borne à une image du jeu, immuable.
+ * <p>
+ * Il est donné par {@link ClavierBorneArcade#lireEtat()}, une fois par image : il indique les
+ * touches enfoncées à cet instant, celles qui ont été appuyées ou relâchées depuis l'image
+ * précédente, et la liste de ces événements avec leur instant. Un appui suivi d'un relâchement
+ * entre deux images n'est donc jamais perdu. Les touches sont désignées par les constantes de
+ * {@link ClavierBorneArcade}, comme {@link ClavierBorneArcade#J1_A}.
+ */
+public final class EtatClavier {
+
+    /**
+     * Marque d'un appui dans un événement, absente pour un relâchement.
+     */
+    static final int APPUI = 1 << 8;
+
+    private final long instant;
+    private final int enfoncees;
+    private final int appuyees;
+    private final int relachees;
+    private final int[] evenements;
+    private final long[] instants;
+
+    EtatClavier(long instant, int enfoncees, int appuyees, int relachees, int[] evenements, long[] instants) {
+        this.instant = instant;
+        this.enfoncees = enfoncees;
+        this.appuyees = appuyees;
+        this.relachees = relachees;
+        this.evenements = evenements;
+        this.instants = instants;
+    }
+
+    /**
+     * Donne l'instant de l'état.
+     * @return L'instant donné par {@link System#nanoTime()} à la lecture de l'état.
+     */
+    public long getInstant() {
+        return instant;
+    }
+
+    /**
+     * Indique si une touche est enfoncée.
+     * @param touche La touche, par exemple {@link ClavierBorneArcade#J1_GAUCHE}.
+     * @return Vrai si la touche est enfoncée à l'instant de l'état.
+     */
+    public boolean estEnfoncee(int touche) {
+        return (enfoncees & 1 << touche) != 0;
+    }
+
+    /**
+     * Indique si une touche a été appuyée depuis l'état précédent, même si elle a été relâchée depuis.
+     * @param touche La touche.
+     * @return Vrai si la touche a été appuyée au moins une fois.
+     */
+    public boolean aEteAppuyee(int touche) {
+        return (appuyees & 1 << touche) != 0;
+    }
+
+    /**
+     * Indique si une touche a été relâchée depuis l'état précédent, ce que les méthodes
+     * <code>...Tape()</code> de {@link ClavierBorneArcade} appellent une touche tapée.
+     * @param touche La touche.
+     * @return Vrai si la touche a été relâchée au moins une fois.
+     */
+    public boolean aEteRelachee(int touche) {
+        return (relachees & 1 << touche) != 0;
+    }
+
+    /**
+     * Donne les touches enfoncées.
+     * @return Le masque des touches enfoncées, le bit <code>1 &lt;&lt; touche</code> pour chacune.
+     */
+    public int getEnfoncees() {
+        return enfoncees;
+    }
+
+    /**
+     * Donne le nombre d'appuis et de relâchements depuis l'état précédent.
+     * @return Le nombre d'événements.
+     */
+    public int getNombreEvenements() {
+        return evenements.length;
+    }
+
+    /**
+     * Donne la touche d'un événement.
+     * @param i Le numéro de l'événement, du plus ancien au plus récent.
+     * @return La touche appuyée ou relâchée.
+     */
+    public int getTouche(int i) {
+        return evenements[i] & ~APPUI;
+    }
+
+    /**
+     * Indique si un événement est un appui ou un relâchement.
+     * @param i Le numéro de l'événement.
+     * @return Vrai pour un appui, faux pour un relâchement.
+     */
+    public boolean estAppui(int i) {
+        return (evenements[i] & APPUI) != 0;
+    }
+
+    /**
+     * Donne l'instant d'un événement.
+     * @param i Le numéro de l'événement.
+     * @return L'instant de l'événement, donné par {@link System#nanoTime()}.
+     */
+    public long getInstant(int i) {
+        return instants[i];
+    }
+}
@@ -0,0 +1,100 @@
+package Arcade;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * File bornée et sans verrou des appuis et relâchements de touches de la borne.
+ * <p>
+ * Le fil AWT y dépose chaque événement avec son instant, la boucle du jeu les retire une fois
+ * par image. Chaque case porte un numéro de séquence qui indique si elle est libre ou remplie :
+ * déposer ne prend aucun verrou, même si plusieurs fils déposent en même temps, et un seul fil
+ * retire. Quand la file est pleine, l'événement est jeté et compté par {@link #getPerdus()}.
+ */
+class FileEvenementsClavier {
+
+    private final int masque;
+    private final AtomicLongArray sequences;
+    private final int[] evenements;
+    private final long[] instants;
+
+    // Prochaine case à remplir, partagée par les fils qui déposent
+    private final AtomicLong fin = new AtomicLong();
+    // Prochaine case à lire, propre au fil qui retire
+    private long debut = 0;
+    private final AtomicLong perdus = new AtomicLong();
+
+    /**
+     * Crée une file vide.
+     * @param capacite Nombre maximal d'événements en attente, puissance de deux.
+     */
+    FileEvenementsClavier(int capacite) {
+        if (Integer.bitCount(capacite) != 1)
+            throw new IllegalArgumentException("Capacité non puissance de deux : " + capacite);
+        masque = capacite - 1;
+        sequences = new AtomicLongArray(capacite);
+        evenements = new int[capacite];
+        instants = new long[capacite];
+        // la case i attend l'événement numéro i
+        for (int i = 0; i < capacite; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Ajoute un événement à la file.
+     * @param evenement L'événement.
+     * @param instant Son instant, donné par {@link System#nanoTime()}.
+     * @return Faux si la file est pleine et l'événement perdu.
+     */
+    boolean deposer(int evenement, long instant) {
+        while (true) {
+            long position = fin.get();
+            int i = (int) position & masque;
+            long sequence = sequences.get(i);
+            if (sequence == position) {
+                if (fin.compareAndSet(position, position + 1)) {
+                    evenements[i] = evenement;
+                    instants[i] = instant;
+                    // publie la case : le lecteur qui voit la séquence voit aussi l'événement
+                    sequences.lazySet(i, position + 1);
+                    return true;
+                }
+            } else if (sequence < position) {
+                // la case n'a pas encore été lue depuis le tour précédent
+                perdus.incrementAndGet();
+                return false;
+            }
+            // un autre fil a pris la case : nouvel essai sur la suivante
+        }
+    }
+
+    /**
+     * Retire les événements en attente, du plus ancien au plus récent. Réservé à un seul fil.
+     * @param evenements Tableau recevant les événements.
+     * @param instants Tableau recevant leurs instants, de même taille.
+     * @return Le nombre d'événements retirés, au plus la taille des tableaux.
+     */
+    int retirer(int[] evenements, long[] instants) {
+        int n = 0;
+        while (n < evenements.length) {
+            int i = (int) debut & masque;
+            if (sequences.get(i) != debut + 1)
+                break;
+            evenements[n] = this.evenements[i];
+            instants[n] = this.instants[i];
+            // libère la case pour le tour suivant
+            sequences.lazySet(i, debut + masque + 1);
+            debut++;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Donne le nombre d'événements jetés parce que la file était pleine.
+     * @return Le nombre d'événements perdus depuis la création de la file.
+     */
+    long getPerdus() {
+        return perdus.get();
+    }
+}
@@ -12,7 +12,7 @@ package Arcade;
  */
 public class Game {
 
-    private String name, description, path, imagePath, lang, input;
+    private String name, description, path, imagePath, lang, input, mainClass;
     private int gameId;
 
     /**
@@ -27,6 +27,7 @@ public class Game {
         this.imagePath = "";
         this.input = "";
         this.lang = "";
+        this.mainClass = "";
     }
 
     /**
@@ -48,6 +49,7 @@ public class Game {
         this.imagePath = imagePath;
         this.input = input;
         this.lang = lang;
+        this.mainClass = "";
     }
 
     /**
@@ -113,6 +115,15 @@ public class Game {
         return this.lang;
     }
 
+    /**
+     * Retourne le point d'entrée du jeu.
+     *
+     * @return La classe principale (Java, Jar) ou le script lancé (Python, Lua), vide si inconnu
+     */
+    public String getMainClass() {
+        return this.mainClass;
+    }
+
     /**
      * Définit l'identifiant unique du jeu.
      *
@@ -167,6 +178,15 @@ public class Game {
         this.input = input;
     }
 
+    /**
+     * Définit le point d'entrée du jeu.
+     *
+     * @param mainClass Nouvelle classe principale ou nouveau script de lancement
+     */
+    public void setMainClass(String mainClass) {
+        this.mainClass = mainClass;
+    }
+
     /**
      * Retourne une représentation string de l'objet Game.
      *
@@ -1,6 +1,8 @@
 package Arcade;
 
 import java.awt.Font;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.nio.file.*;
 import java.io.File;
@@ -28,37 +30,54 @@ public class Graphique {
 	private BoiteDescription bd;
 	public static Bouton[] tableau;
 	private static ArrayList<Game> games;
-	private static ArrayList<Bouton> buttons;
+	private static Carrousel carrousel;
 	private Pointeur pointeur;
+	private PrechargeurJeux prechargeur;
 	Font font;
 	Font fontSelect;
-	public static Bruitage musiqueFond;
+	public static MusiqueMenu musiqueFond;
 	private static String[] tableauMusiques;
 	private static int cptMus;
 
+	/**
+	 * Période de la boucle du menu en ms, et période après DELAI_VEILLE ms sans appui
+	 */
+	private static final long PERIODE_ACTIVE = 50;
+	private static final long PERIODE_VEILLE = 250;
+	private static final long DELAI_VEILLE = 30000;
+
+	/**
+	 * Nombre d'appuis sur une touche, protégé par reveil qui réveille la boucle du menu
+	 */
+	private final Object reveil = new Object();
+	private long entrees = 0;
+
 	public Graphique() {
 
 		TAILLEX = 1280;
 		TAILLEY = 1024;
 
-		font = null;
-
-		try {
-			File in = new File("fonts/PrStart.ttf");
-			font = font.createFont(Font.TRUETYPE_FONT, in);
-			font = font.deriveFont(32.0f);
-		} catch (Exception e) {
-			System.err.println(e.getMessage());
-		}
+		font = Ressources.police("fonts/PrStart.ttf", 32.0f);
+		fontSelect = Ressources.police("fonts/PrStart.ttf", 48.0f);
 
 		// f = new Fenetre("_Menu Borne D'arcade_",TAILLEX,TAILLEY);
 		f.setVisible(true);
 		clavier = new ClavierBorneArcade();
 		f.addKeyListener(clavier);
 		f.getP().addKeyListener(clavier);
+		// ajouté après le clavier : son état est à jour quand la boucle du menu se réveille
+		f.addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				synchronized (reveil) {
+					entrees++;
+					reveil.notifyAll();
+				}
+			}
+		});
 
 		loadGame();
-		loadButtons();
+		loadCarrousel();
 
 		pointeur = new Pointeur();
 		bs = new BoiteSelection(new Rectangle(Couleur.GRIS_CLAIR, new Point(0, 0), new Point(640, TAILLEY), true),
@@ -66,12 +85,15 @@ public class Graphique {
 		// f.ajouter(bs.getRectangle());
 		System.out.println(pointeur.getValue());
 		bi = new BoiteImage(new Rectangle(Couleur.GRIS_FONCE, new Point(640, 512), new Point(TAILLEX, TAILLEY), true),
-				new String(buttons.get(pointeur.getValue()).getGame().getPath()));
+				new String(games.get(pointeur.getValue()).getPath()));
 		// f.ajouter(bi.getRectangle());
 		bd = new BoiteDescription(new Rectangle(Couleur.GRIS, new Point(640, 0), new Point(TAILLEX, 512), true));
 
-		bd.lireFichier(buttons.get(pointeur.getValue()).getGame().getPath());
-		bd.lireHighScore(buttons.get(pointeur.getValue()).getGame().getPath());
+		bd.afficherDescription(games.get(pointeur.getValue()).getDescription());
+		prechargeur = new PrechargeurJeux(games, PrechargeurJeux.VOISINS);
+		bd.afficherHighScore(prechargeur.obtenir(pointeur.getValue()).getHighScores());
+		bd.afficherBoutons(games.get(pointeur.getValue()).getInput());
+		prechargeur.centrerSur(pointeur.getValue());
 		// f.ajouter(bd.getRectangle());
 
 		Texture fond = new Texture("img/fondretro3.png", new Point(0, 0), TAILLEX, TAILLEY);
@@ -85,16 +107,19 @@ public class Graphique {
 		// f.ajouter(bd.getMessage());
 		f.ajouter(pointeur.getTriangleGauche());
 		f.ajouter(pointeur.getTriangleDroite());
-		for (int i = 0; i < buttons.size(); i++) {
-			f.ajouter(buttons.get(i).getTexture());
+		Bouton[] emplacements = carrousel.getEmplacements();
+		for (int i = 0; i < emplacements.length; i++) {
+			f.ajouter(emplacements[i].getTexture());
 		}
 		f.ajouter(pointeur.getRectangleCentre());
-		for (int i = 0; i < buttons.size(); i++) {
-			Bouton button = buttons.get(i);
-			f.ajouter(buttons.get(i).getText());
+		for (int i = 0; i < emplacements.length; i++) {
+			Bouton button = emplacements[i];
+			f.ajouter(emplacements[i].getText());
 			button.getText().setPolice(font);
 			button.getText().setCouleur(Couleur.BLANC);
 		}
+		// masque les emplacements sans jeu
+		carrousel.lier(pointeur.getValue());
 		// add texture
 		for (int i = 0; i < bd.getBouton().length; i++) {
 			f.ajouter(bd.getBouton()[i]);
@@ -136,8 +161,14 @@ public class Graphique {
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
-		// Choix d'une musique aleatoire et lecture de celle-ci
+		// Lecture des musiques dans un ordre aleatoire, enchainees en fondu
+		List<String> musiques = new ArrayList<>();
+		for (String musique : tableauMusiques)
+			musiques.add("sound/bg/" + musique);
+		musiqueFond = new MusiqueMenu(musiques);
 		this.lectureMusiqueFond();
+		if (Boolean.getBoolean(Ressources.RAPPORT))
+			System.out.println(Ressources.rapport());
 	}
 
 	public static void addGame(Game game) {
@@ -148,12 +179,16 @@ public class Graphique {
 		return games;
 	};
 
-	public static ArrayList<Bouton> getButtons() {
-		return buttons;
+	public static Carrousel getCarrousel() {
+		return carrousel;
 	}
 
 	/**
 	 * Gère la sélection du jeu à lancer
+	 * <p>
+	 * L'écran n'est redessiné que si une touche a été appuyée ou si le clignotement du jeu
+	 * sélectionné a changé. Après DELAI_VEILLE ms sans appui, la boucle ralentit jusqu'au
+	 * prochain appui, qui la réveille immédiatement.
 	 */
 	public void selectionJeu() {
 		Texture fondBlancTransparent = new Texture("./img/blancTransparent.png", new Point(0, 0));
@@ -166,28 +201,24 @@ public class Graphique {
 		int frame = 0;
 		boolean fermetureMenu = false;
 		int selectionSur = 0;
+		EcranLatences ecranLatences = new EcranLatences();
+		int affiche = pointeur.getValue();
+		boolean aRedessiner = true;
+		long entreesVues = 0;
+		long derniereEntree = System.currentTimeMillis();
 
 		while (true) {
-			Bouton button = buttons.get(pointeur.getValue());
+			Bouton button = carrousel.getSelection();
 
 			if (frame == 0 && button.isTextVisible()) {
 				f.supprimer(button.getText());
 				button.setTextVisible(false);
+				aRedessiner = true;
 			}
 			if (frame == 4 && !button.isTextVisible()) {
 				f.ajouter(button.getText());
 				button.setTextVisible(true);
-			}
-
-			for (int i = 0; i < buttons.size(); i++) {
-				if (i == pointeur.getValue())
-					continue;
-				Bouton b = buttons.get(i);
-				// Affiche s'il ne l'est pas déjà
-				if (!b.isTextVisible()) {
-					f.ajouter(b.getText());
-					b.setTextVisible(true);
-				}
+				aRedessiner = true;
 			}
 
 			// incrémentation du frame
@@ -195,22 +226,35 @@ public class Graphique {
 			if (frame == 8)
 				frame = 0;
 
-			// pause
-			try {
-				Thread.sleep(50);
-			} catch (Exception e) {
+			// pause, écourtée par un appui sur une touche
+			long periode = System.currentTimeMillis() - derniereEntree > DELAI_VEILLE ? PERIODE_VEILLE : PERIODE_ACTIVE;
+			long vues = attendreEntree(entreesVues, periode);
+			if (vues != entreesVues) {
+				entreesVues = vues;
+				derniereEntree = System.currentTimeMillis();
+				aRedessiner = true;
 			}
-			if (!fermetureMenu) {
+			boolean boutonY = clavier.getBoutonJ1YTape();
+			if (ecranLatences.estAffiche()) {
+				if (boutonY | clavier.getBoutonJ1ATape() | clavier.getBoutonJ1ZTape())
+					ecranLatences.masquer(f);
+			} else if (boutonY && clavier.getBoutonJ1XEnfoncee()) {
+				// écran caché : maintenir X puis appuyer sur Y
+				ecranLatences.afficher(f);
+			} else if (!fermetureMenu) {
 				if (bs.selection(clavier)) {
-					bi.setImage(button.getGame().getPath());
-
-					fontSelect = null;
-					try {
-						File in = new File("fonts/PrStart.ttf");
-						fontSelect = fontSelect.createFont(Font.TRUETYPE_FONT, in);
-						fontSelect = fontSelect.deriveFont(48.0f);
-					} catch (Exception e) {
-						System.err.println(e.getMessage());
+					if (pointeur.getValue() != affiche) {
+						// informations préchargées en arrière-plan, voir PrechargeurJeux
+						affiche = pointeur.getValue();
+						prechargeur.centrerSur(affiche);
+						Game game = games.get(affiche);
+						PrechargeurJeux.FicheJeu fiche = prechargeur.obtenir(affiche);
+						bi.setImage(fiche.getVignette());
+						bd.afficherDescription(game.getDescription());
+						bd.afficherHighScore(fiche.getHighScores());
+						bd.afficherBoutons(game.getInput());
+						// la nouvelle fiche doit être affichée même sans autre changement
+						aRedessiner = true;
 					}
 
 					if (!button.getText().getPolice().equals(fontSelect)) {
@@ -219,10 +263,13 @@ public class Graphique {
 
 					button.getText().setPolice(font);
 
-					bd.lireFichier(button.getGame().getPath());
-					bd.lireHighScore(button.getGame().getPath());
-					bd.lireBouton(button.getGame().getPath());
-					pointeur.lancerJeu(clavier);
+					if (pointeur.lancerJeu(clavier)) {
+						// la partie a pu modifier les scores du jeu
+						prechargeur.invalider(affiche);
+						bd.afficherHighScore(prechargeur.obtenir(affiche).getHighScores());
+						derniereEntree = System.currentTimeMillis();
+						aRedessiner = true;
+					}
 
 				} else {
 					f.ajouter(fondBlancTransparent);
@@ -268,109 +315,100 @@ public class Graphique {
 				}
 
 			}
-			f.rafraichir();
+			if (aRedessiner) {
+				f.rafraichir();
+				aRedessiner = false;
+			}
 		} // fin while true
 	}
 
+	/**
+	 * Attend un appui sur une touche, au plus delai ms
+	 * @param vues Nombre d'appuis déjà traités par la boucle du menu
+	 * @param delai Attente maximale en ms
+	 * @return Le nombre d'appuis, différent de vues si une touche a été appuyée
+	 */
+	private long attendreEntree(long vues, long delai) {
+		synchronized (reveil) {
+			if (entrees == vues) {
+				try {
+					reveil.wait(delai);
+				} catch (InterruptedException e) {
+				}
+			}
+			return entrees;
+		}
+	}
+
 	/**
 	 * Lancer la musique de fond aléatoirement parmi la liste définie
 	 */
 	public static void lectureMusiqueFond() {
-		musiqueFond = new Bruitage("sound/bg/" + tableauMusiques[(int) (Math.random() * cptMus)]);
+		Ressources.reprendreSons();
 		musiqueFond.lecture();
 	}
 
 	/**
-	 * Arrete la musique
+	 * Arrete la musique et les bruitages du menu, et libère leurs tampons et la sortie audio
+	 * pendant la partie
 	 */
 	public static void stopMusiqueFond() {
 		musiqueFond.arret();
+		Ressources.suspendreSons();
 	}
 
-	public static void afficherTexte(int valeur) {
-		f.ajouter(buttons.get(valeur).getText());
+	/**
+	 * Remet la fenêtre du menu au premier plan après un jeu hébergé dans la JVM du menu
+	 */
+	public static void reprendreMenu() {
+		f.toFront();
+		f.requestFocus();
 	}
 
+	/**
+	 * Charge la liste des jeux depuis le catalogue, en n'analysant que les dossiers de
+	 * projet/ modifiés depuis le dernier démarrage
+	 * @see CatalogueJeux
+	 */
 	public static ArrayList<Game> loadGame() {
 
 		if (games == null)
 			games = new ArrayList<>();
 
 		Path yourPath = FileSystems.getDefault().getPath("projet/");
-		int cpt = 1;
-		try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(yourPath)) {
-			for (Path dirPath : directoryStream) {
-				String name = dirPath.getFileName().toString();
-				String description = "";
-				String path = "projet/" + name;
-				String imagePath = "";
-				String lang = detectLang(dirPath);
-				System.out.println(lang);
-				String input = "";
-
-				Game g = new Game(cpt, name, description, path, imagePath, lang, input);
-				games.add(g);
-				cpt++;
-			}
-		} catch (IOException e) {
-			e.printStackTrace();
-		}
+		games.addAll(CatalogueJeux.charger(yourPath, FileSystems.getDefault().getPath(CatalogueJeux.FICHIER)));
 
 		return games;
 	}
 
-	public static ArrayList<Bouton> loadButtons() {
-
-		if (buttons == null)
-			buttons = new ArrayList<>();
-
-		Bouton addButton = new Bouton("Ajouter un jeu", "Add");
+	/**
+	 * Crée les emplacements de la liste des jeux, en nombre fixe quel que soit le nombre de
+	 * jeux
+	 * @see Carrousel
+	 */
+	public static Carrousel loadCarrousel() {
 
-		// buttons.add(addButton);
+		if (carrousel == null)
+			carrousel = new Carrousel(games);
 
-		games.forEach(game -> {
-			Bouton button = new Bouton(game);
-			button.translater(0, (game.getGameId() - 1) * -110);
-			buttons.add(button);
-		});
-
-		return buttons;
+		return carrousel;
 
 	};
 
+	/**
+	 * Détecte le langage d'un jeu
+	 * @see CatalogueJeux#detectLang(Path)
+	 */
 	public static String detectLang(Path gameDir) throws IOException {
-
-		String lang = scanOneLevel(gameDir);
-		if (!lang.equals("Unknown"))
-			return lang;
-
-		Path srcDir = gameDir.resolve("src");
-		if (Files.exists(srcDir) && Files.isDirectory(srcDir)) {
-			lang = scanOneLevel(srcDir);
-		}
-
-		return lang;
+		return CatalogueJeux.detectLang(gameDir);
 	}
 
+	/**
+	 * Détecte le langage des fichiers d'un dossier, sans parcourir ses sous-dossiers
+	 * @see CatalogueJeux#scanOneLevel(Path)
+	 */
 	public static String scanOneLevel(Path dir) throws IOException {
-		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
-			for (Path p : stream) {
-				if (!Files.isRegularFile(p))
-					continue;
-
-				String file = p.getFileName().toString().toLowerCase();
-
-				if(file.endsWith(".jar"))
-					return "Jar";
-				if (file.endsWith(".java"))
-					return "Java";
-				if(file.endsWith(".lua"))
-					return "Lua";
-				if (file.endsWith(".py"))
-					return "Python";
-			}
-		}
-		return "Unknown";
+		return CatalogueJeux.scanOneLevel(dir);
 	}
 
 }
\ No newline at end of file
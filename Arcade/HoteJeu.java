@@ -0,0 +1,321 @@
+package Arcade;
+
+import java.awt.Frame;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+/**
+ * Hôte permettant d'exécuter un jeu Java ou Jar dans la JVM du menu.
+ * <p>
+ * Le jeu est chargé par un {@link ChargeurJeu} qui lui est propre, sa méthode {@code main}
+ * tourne dans un thread dédié, placé dans un groupe de threads propre au jeu, et, à la fin de
+ * la partie, ses fenêtres sont fermées, ses threads interrompus et attendus, puis son chargeur
+ * fermé afin que ses classes puissent être récupérées. Tant qu'un thread du jeu précédent
+ * refuse de s'arrêter, l'hôte n'accepte pas de nouveau jeu (voir {@link #estDisponible()}).
+ * On évite ainsi le démarrage d'une nouvelle JVM, le chargement d'AWT et la chauffe du JIT
+ * à chaque lancement.
+ * <p>
+ * La partie se termine lorsque le jeu appelle {@code System.exit} (redirigé vers
+ * {@link SortieJeu}), ou lorsque {@code main} est terminée et que le jeu n'a plus ni fenêtre
+ * affichée ni thread actif.
+ * <p>
+ * La JVM ne pouvant pas changer de répertoire courant, le dossier du jeu est transmis à
+ * {@link DossierJeu}, par lequel les jeux résolvent leurs fichiers (scores, polices). Les
+ * ressources chargées par MG2D passent par le chargeur de classes du jeu et trouvent
+ * directement les fichiers de son dossier.
+ */
+public class HoteJeu {
+
+    /**
+     * Intervalle de vérification de la fin d'un jeu dont la méthode main est terminée.
+     */
+    private static final long INTERVALLE_SURVEILLANCE = 100;
+
+    /**
+     * Temps laissé aux threads du jeu pour s'arrêter après leur interruption, en millisecondes.
+     */
+    private static final long DELAI_ARRET = 2000;
+
+    /**
+     * Partie en cours, null si aucun jeu n'est hébergé.
+     */
+    private static volatile Session session;
+
+    /**
+     * Partie terminée dont des threads n'ont pas voulu s'arrêter, null si l'hôte est libre.
+     */
+    private static Session restante;
+
+    /**
+     * Lance un jeu dans la JVM du menu et attend la fin de la partie.
+     * @param game Jeu à lancer, de langage "Java" ou "Jar".
+     * @return Le code de retour du jeu (0 si main s'est terminée normalement).
+     * @throws Exception si le jeu ne peut pas être chargé.
+     */
+    public static int lancer(Game game) throws Exception {
+        return lancer(game, chargeur(game), null);
+    }
+
+    /**
+     * Crée le chargeur d'un jeu, selon son langage.
+     */
+    static ChargeurJeu chargeur(Game game) throws IOException {
+        ClassLoader menu = HoteJeu.class.getClassLoader();
+        return game.getLang().equals("Jar") ? new ChargeurJeu(new URL[0], menu) : ChargeurJeu.pourJeuxJava(menu);
+    }
+
+    /**
+     * Lance un jeu avec un chargeur déjà créé, éventuellement préchargé, et attend la fin de la partie.
+     * @param game Jeu à lancer, de langage "Java" ou "Jar".
+     * @param chargeur Chargeur dont le jeu n'est pas encore fixé. Il est fermé à la fin de la partie.
+     * @return Le code de retour du jeu (0 si main s'est terminée normalement).
+     * @throws IllegalStateException si des threads du jeu précédent sont encore actifs.
+     * @throws Exception si le jeu ne peut pas être chargé.
+     */
+    public static int lancer(Game game, ChargeurJeu chargeur) throws Exception {
+        return lancer(game, chargeur, null);
+    }
+
+    /**
+     * Lance un jeu et attend la fin de la partie, ou son arrêt demandé par le superviseur.
+     * @param surveillance Surveillance de la partie, relevée toutes les {@link SuperviseurJeu#PERIODE} ms, ou null.
+     */
+    static int lancer(Game game, ChargeurJeu chargeur, SuperviseurJeu.Surveillance surveillance) throws Exception {
+        if (!estDisponible()) {
+            chargeur.close();
+            throw new IllegalStateException("Des threads du jeu précédent sont encore actifs");
+        }
+        Path dossier = Paths.get(game.getPath()).toAbsolutePath();
+        String classePrincipale;
+        if (game.getLang().equals("Jar")) {
+            File jar = dossier.resolve(game.getName() + ".jar").toFile();
+            try (JarFile fichier = new JarFile(jar)) {
+                classePrincipale = fichier.getManifest().getMainAttributes().getValue("Main-Class");
+            }
+            chargeur.setJeu(jar.toURI().toURL());
+        } else {
+            chargeur.setJeu(dossier.toUri().toURL());
+            classePrincipale = game.getName();
+        }
+
+        List<Frame> fenetresMenu = Arrays.asList(Frame.getFrames());
+        Session s = new Session(chargeur, new ThreadGroup("jeu-" + game.getName()));
+        session = s;
+        try {
+            // la copie de DossierJeu vue par le jeu est celle de son chargeur
+            Method definir = Class.forName(DossierJeu.class.getName(), true, chargeur).getDeclaredMethod("definir", Path.class);
+            definir.setAccessible(true);
+            definir.invoke(null, dossier);
+            Method main = chargeur.loadClass(classePrincipale).getMethod("main", String[].class);
+            Thread thread = new Thread(s.groupe, () -> executer(s, main), "jeu-" + game.getName());
+            thread.setContextClassLoader(chargeur);
+            thread.setDaemon(true);
+            s.thread = thread;
+            thread.start();
+
+            // main terminée ou sortie demandée ; un jeu peut aussi continuer dans ses propres threads
+            long releve = 0;
+            while (!s.fin.await(INTERVALLE_SURVEILLANCE, TimeUnit.MILLISECONDS)
+                    || !s.sortieDemandee && enCours(s, fenetresMenu)) {
+                if (s.fin.getCount() == 0)
+                    Thread.sleep(INTERVALLE_SURVEILLANCE);
+                if (surveillance == null)
+                    continue;
+                long maintenant = System.currentTimeMillis();
+                if (maintenant - releve >= SuperviseurJeu.PERIODE) {
+                    surveillance.mesurer(maintenant, tempsProcesseur(s), -1);
+                    releve = maintenant;
+                }
+                String fin = surveillance.verifier(maintenant);
+                if (fin != null) {
+                    System.err.println("Arrêt de " + game.getName() + " (" + fin + ")");
+                    break;
+                }
+            }
+            return s.code;
+        } finally {
+            session = null;
+            liberer(s, fenetresMenu);
+        }
+    }
+
+    /**
+     * Indique qu'un jeu hébergé est en cours d'exécution.
+     * @return true si un jeu est hébergé par le menu.
+     */
+    public static boolean estEnCours() {
+        return session != null;
+    }
+
+    /**
+     * Indique si l'hôte peut accueillir un nouveau jeu, c'est-à-dire si tous les threads du
+     * jeu précédent se sont arrêtés. Le chargeur du jeu précédent est fermé dès que c'est le cas.
+     * @return true si un jeu peut être lancé par {@link #lancer(Game)}.
+     */
+    public static synchronized boolean estDisponible() {
+        if (restante != null && threadsActifs(restante).isEmpty()) {
+            fermer(restante);
+            restante = null;
+        }
+        return restante == null;
+    }
+
+    /**
+     * Enregistre la demande de sortie du jeu en cours. Appelée par {@link SortieJeu#exit(int)}.
+     * @param code Code de retour du jeu.
+     */
+    static void demanderSortie(int code) {
+        Session s = session;
+        if (s == null)
+            return;
+        s.code = code;
+        s.sortieDemandee = true;
+        s.fin.countDown();
+    }
+
+    private static void executer(Session s, Method main) {
+        try {
+            main.invoke(null, (Object) new String[0]);
+        } catch (InvocationTargetException e) {
+            if (!(e.getCause() instanceof SortieJeu)) {
+                System.err.println("Le jeu s'est terminé sur une erreur : " + e.getCause());
+                e.getCause().printStackTrace();
+                s.code = 1;
+            }
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            s.code = 1;
+        } finally {
+            s.fin.countDown();
+        }
+    }
+
+    /**
+     * Indique si le jeu a encore une fenêtre affichée ou un thread actif.
+     */
+    private static boolean enCours(Session s, List<Frame> fenetresMenu) {
+        for (Frame fenetre : Frame.getFrames()) {
+            if (!fenetresMenu.contains(fenetre) && fenetre.isDisplayable())
+                return true;
+        }
+        return !threadsDuJeu(s).isEmpty();
+    }
+
+    private static List<Thread> threadsDuJeu(Session s) {
+        List<Thread> threads = new ArrayList<>();
+        for (Thread t : threadsActifs(s)) {
+            if (t != s.thread && !t.isDaemon())
+                threads.add(t);
+        }
+        return threads;
+    }
+
+    /**
+     * Retourne les threads vivants du jeu : ceux de son groupe, et les threads non démons créés
+     * ailleurs (par exemple depuis le thread AWT) avec le chargeur du jeu pour chargeur de contexte.
+     */
+    private static List<Thread> threadsActifs(Session s) {
+        List<Thread> threads = new ArrayList<>();
+        Thread[] groupe = new Thread[s.groupe.activeCount() + 8];
+        int n = s.groupe.enumerate(groupe, true);
+        for (int i = 0; i < n; i++) {
+            if (groupe[i].isAlive())
+                threads.add(groupe[i]);
+        }
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.isAlive() && !t.isDaemon() && t.getContextClassLoader() == s.chargeur && !threads.contains(t))
+                threads.add(t);
+        }
+        return threads;
+    }
+
+    /**
+     * Retourne le temps processeur cumulé des threads du jeu, en ns. Le temps d'un thread
+     * terminé reste compté.
+     */
+    private static long tempsProcesseur(Session s) {
+        ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        for (Thread t : threadsActifs(s)) {
+            long temps = mx.getThreadCpuTime(t.getId());
+            if (temps < 0)
+                continue;
+            Long precedent = s.tempsThreads.put(t.getId(), temps);
+            s.tempsProcesseur += temps - (precedent != null ? precedent : 0);
+        }
+        return s.tempsProcesseur;
+    }
+
+    /**
+     * Ferme les fenêtres et interrompt les threads laissés par le jeu, attend leur arrêt puis
+     * ferme son chargeur. Si des threads sont toujours actifs après {@link #DELAI_ARRET}, la
+     * partie est gardée et l'hôte refuse les jeux suivants jusqu'à leur arrêt.
+     */
+    private static synchronized void liberer(Session s, List<Frame> fenetresMenu) {
+        for (Frame fenetre : Frame.getFrames()) {
+            if (!fenetresMenu.contains(fenetre))
+                fenetre.dispose();
+        }
+        List<Thread> threads = threadsActifs(s);
+        for (Thread t : threads)
+            t.interrupt();
+        long limite = System.nanoTime() + DELAI_ARRET * 1000000L;
+        try {
+            for (Thread t : threads) {
+                long reste = (limite - System.nanoTime()) / 1000000L;
+                if (reste > 0)
+                    t.join(reste);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Thread> bloques = threadsActifs(s);
+        if (bloques.isEmpty()) {
+            fermer(s);
+        } else {
+            System.err.println("Threads du jeu toujours actifs, l'hôte est indisponible : " + bloques);
+            restante = s;
+        }
+    }
+
+    private static void fermer(Session s) {
+        try {
+            s.chargeur.close();
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * État d'une partie hébergée.
+     */
+    private static class Session {
+        final ChargeurJeu chargeur;
+        final ThreadGroup groupe;
+        final CountDownLatch fin = new CountDownLatch(1);
+        final Map<Long, Long> tempsThreads = new HashMap<>();
+        long tempsProcesseur;
+        Thread thread;
+        volatile int code;
+        volatile boolean sortieDemandee;
+
+        Session(ChargeurJeu chargeur, ThreadGroup groupe) {
+            this.chargeur = chargeur;
+            this.groupe = groupe;
+        }
+    }
+}
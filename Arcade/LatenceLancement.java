@@ -0,0 +1,224 @@
+package Arcade;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import MG2D.Fenetre;
+
+/**
+ * Mesure du temps de lancement d'un jeu, de l'appui sur A à sa première image.
+ * <p>
+ * {@link Pointeur} note l'instant de l'appui, du démarrage du processus et de sa fin. Les
+ * jeux MG2D écrivent l'instant de leur premier {@code Fenetre.rafraichir()} dans le fichier
+ * donné par la variable d'environnement {@code MG2D_PREMIERE_IMAGE} (ou la propriété système
+ * {@code mg2d.premiereImage} pour un jeu hébergé dans la JVM du menu). Chaque lancement est
+ * ajouté à {@link #JOURNAL}, qui ne garde que les {@link #MESURES} derniers lancements de
+ * chaque jeu. Les médianes et 95e centiles sont affichés par {@link EcranLatences}.
+ */
+public class LatenceLancement {
+
+    /**
+     * Journal des lancements, relatif au dossier de la borne.
+     */
+    public static final String JOURNAL = "latences.log";
+
+    /**
+     * Nombre de lancements gardés par jeu dans le journal.
+     */
+    public static final int MESURES = 50;
+
+    private static final String ENTETE = "date\tjeu\tmode\tdemarrage_ms\tpremiere_image_ms\tpartie_s";
+
+    private final Game game;
+    private final String mode;
+    private final long appui;
+    private long demarrage = -1;
+    private Path fichier;
+
+    /**
+     * Commence la mesure d'un lancement, à l'instant de l'appui sur A.
+     * @param game Jeu lancé.
+     * @param mode Mode de lancement, enregistré avec la mesure.
+     */
+    public LatenceLancement(Game game, String mode) {
+        this.game = game;
+        this.mode = mode;
+        this.appui = System.currentTimeMillis();
+    }
+
+    /**
+     * Crée un fichier de première image, vide.
+     * @return Le chemin du fichier, null s'il ne peut pas être créé.
+     */
+    static Path nouveauFichier() {
+        try {
+            Path fichier = Files.createTempFile("premiere-image", ".txt");
+            fichier.toFile().deleteOnExit();
+            return fichier;
+        } catch (IOException e) {
+            System.err.println("Mesure de la première image impossible : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Prépare le processus du jeu à signaler sa première image.
+     * @param processBuilder Processus du jeu, pas encore démarré.
+     */
+    public void preparer(ProcessBuilder processBuilder) {
+        fichier = nouveauFichier();
+        if (fichier != null)
+            processBuilder.environment().put(Fenetre.PREMIERE_IMAGE, fichier.toString());
+    }
+
+    /**
+     * Utilise le fichier de première image d'une JVM déjà démarrée.
+     * @param fichier Fichier transmis à la JVM par la variable d'environnement.
+     * @see ReserveJVM
+     */
+    public void utiliser(Path fichier) {
+        this.fichier = fichier;
+    }
+
+    /**
+     * Prépare un jeu hébergé dans la JVM du menu à signaler sa première image.
+     * @see HoteJeu
+     */
+    public void preparerInterne() {
+        fichier = nouveauFichier();
+        if (fichier != null)
+            System.setProperty("mg2d.premiereImage", fichier.toString());
+    }
+
+    /**
+     * Note le démarrage du processus ou du jeu.
+     */
+    public void demarre() {
+        demarrage = System.currentTimeMillis();
+    }
+
+    /**
+     * Note la fin du jeu et ajoute le lancement au journal.
+     */
+    public void termine() {
+        long fin = System.currentTimeMillis();
+        System.clearProperty("mg2d.premiereImage");
+        long premiereImage = -1;
+        if (fichier != null) {
+            try {
+                String contenu = new String(Files.readAllBytes(fichier), StandardCharsets.US_ASCII).trim();
+                if (!contenu.isEmpty())
+                    premiereImage = Long.parseLong(contenu) - appui;
+                Files.deleteIfExists(fichier);
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Première image illisible : " + e.getMessage());
+            }
+        }
+        String ligne = LocalDateTime.now().withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "\t"
+                + game.getName() + "\t" + mode + "\t" + (demarrage < 0 ? -1 : demarrage - appui) + "\t"
+                + premiereImage + "\t" + (fin - appui) / 1000;
+        System.out.println("Lancement de " + game.getName() + " : " + ligne);
+        enregistrer(Paths.get(JOURNAL), ligne);
+    }
+
+    /**
+     * Ajoute une ligne au journal en ne gardant que les derniers lancements de chaque jeu.
+     */
+    static synchronized void enregistrer(Path journal, String ligne) {
+        List<String> lignes = lire(journal);
+        lignes.add(ligne);
+        Map<String, Integer> restants = new LinkedHashMap<>();
+        List<String> gardees = new ArrayList<>();
+        for (int i = lignes.size() - 1; i >= 0; i--) {
+            String jeu = lignes.get(i).split("\t")[1];
+            int n = restants.merge(jeu, 1, Integer::sum);
+            if (n <= MESURES)
+                gardees.add(lignes.get(i));
+        }
+        Collections.reverse(gardees);
+        gardees.add(0, ENTETE);
+        Path temporaire = journal.resolveSibling(journal.getFileName() + ".tmp");
+        try {
+            Files.write(temporaire, gardees, StandardCharsets.UTF_8);
+            Files.move(temporaire, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Impossible d'écrire dans " + journal + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lit les lancements du journal, sans l'en-tête.
+     */
+    static List<String> lire(Path journal) {
+        List<String> lignes = new ArrayList<>();
+        if (!Files.exists(journal))
+            return lignes;
+        try {
+            for (String ligne : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+                if (!ligne.isEmpty() && !ligne.equals(ENTETE) && ligne.split("\t").length >= 6)
+                    lignes.add(ligne);
+            }
+        } catch (IOException e) {
+            System.err.println("Impossible de lire " + journal + " : " + e.getMessage());
+        }
+        return lignes;
+    }
+
+    /**
+     * Calcule, pour chaque jeu du journal, la médiane et le 95e centile du temps jusqu'au
+     * démarrage et jusqu'à la première image.
+     * @return Pour chaque jeu : nombre de lancements, p50 et p95 du démarrage, p50 et p95 de
+     * la première image, en ms (-1 si aucune mesure).
+     */
+    public static Map<String, long[]> statistiques() {
+        Map<String, List<Long>> demarrages = new LinkedHashMap<>();
+        Map<String, List<Long>> images = new LinkedHashMap<>();
+        for (String ligne : lire(Paths.get(JOURNAL))) {
+            String[] champs = ligne.split("\t");
+            try {
+                long demarrage = Long.parseLong(champs[3]);
+                long image = Long.parseLong(champs[4]);
+                List<Long> d = demarrages.computeIfAbsent(champs[1], k -> new ArrayList<>());
+                List<Long> i = images.computeIfAbsent(champs[1], k -> new ArrayList<>());
+                if (demarrage >= 0)
+                    d.add(demarrage);
+                if (image >= 0)
+                    i.add(image);
+            } catch (NumberFormatException e) {
+                // ligne abîmée, ignorée
+            }
+        }
+        Map<String, long[]> statistiques = new LinkedHashMap<>();
+        for (String jeu : demarrages.keySet()) {
+            List<Long> d = demarrages.get(jeu);
+            List<Long> i = images.get(jeu);
+            statistiques.put(jeu, new long[] { Math.max(d.size(), i.size()), centile(d, 50), centile(d, 95),
+                    centile(i, 50), centile(i, 95) });
+        }
+        return statistiques;
+    }
+
+    /**
+     * Centile par la méthode du rang le plus proche.
+     * @return Le centile, -1 si la liste est vide.
+     */
+    static long centile(List<Long> valeurs, int centile) {
+        if (valeurs.isEmpty())
+            return -1;
+        List<Long> triees = new ArrayList<>(valeurs);
+        Collections.sort(triees);
+        int rang = (int) Math.ceil(centile / 100.0 * triees.size());
+        return triees.get(Math.max(rang, 1) - 1);
+    }
+}
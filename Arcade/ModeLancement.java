@@ -0,0 +1,48 @@
+package Arcade;
+
+/**
+ * Mode de lancement des jeux Java et Jar depuis le menu de la borne.
+ * <p>
+ * Le mode est choisi au démarrage de la borne via la propriété système
+ * {@code borne.lancement} (ex : {@code java -Dborne.lancement=interne -cp .:./MG2D.jar Main}).
+ * Les jeux Python et Lua sont toujours lancés dans un processus séparé.
+ */
+public enum ModeLancement {
+
+    /**
+     * Chaque jeu est lancé dans une nouvelle JVM (comportement historique).
+     */
+    PROCESSUS,
+
+    /**
+     * Le jeu est chargé dans la JVM du menu, dans un chargeur de classes isolé.
+     * @see HoteJeu
+     */
+    INTERNE,
+
+    /**
+     * Le jeu est confié à une JVM démarrée à l'avance, qui a déjà chargé AWT et MG2D.
+     * @see ReserveJVM
+     */
+    RESERVE;
+
+    /**
+     * Nom de la propriété système permettant de choisir le mode de lancement.
+     */
+    public static final String PROPRIETE = "borne.lancement";
+
+    /**
+     * Retourne le mode de lancement configuré pour cette exécution de la borne.
+     * Une valeur absente ou inconnue correspond au mode {@link #PROCESSUS}.
+     * @return Le mode de lancement courant.
+     */
+    public static ModeLancement courant() {
+        String valeur = System.getProperty(PROPRIETE, "processus").trim();
+        for (ModeLancement mode : values()) {
+            if (mode.name().equalsIgnoreCase(valeur))
+                return mode;
+        }
+        System.err.println("Mode de lancement inconnu : " + valeur + ", utilisation du mode processus");
+        return PROCESSUS;
+    }
+}
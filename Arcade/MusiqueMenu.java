@@ -0,0 +1,189 @@
+package Arcade;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import MG2D.audio.CanalFlux;
+import MG2D.audio.FluxPCM;
+import MG2D.audio.Mixeur;
+import MG2D.audio.decoder.JavaLayerException;
+
+/**
+ * Musique de fond du menu, jouée sans interruption entre les morceaux.
+ * <p>
+ * Un fil d'exécution décode les morceaux mp3 à l'avance dans une voie du {@link Mixeur} de
+ * {@link #TAMPON} secondes de son, que le mixeur envoie à la sortie audio avec les bruitages
+ * du menu. Les {@link #FONDU} dernières secondes de chaque morceau sont retenues pour être
+ * mélangées au début du morceau suivant, tiré au hasard dans la liste : les morceaux
+ * s'enchaînent en fondu, sans silence.
+ * <p>
+ * Pendant une partie, {@link #arret()} arrête le fil de décodage, ferme la voie et libère les
+ * tampons : le jeu dispose seul du processeur, de la mémoire et de la carte son.
+ * {@link #lecture()} reprend ensuite sur un nouveau morceau.
+ */
+public class MusiqueMenu {
+
+    /**
+     * Format de la sortie, celui des morceaux fournis. Les morceaux dans un autre format sont
+     * convertis par {@link FluxPCM}.
+     */
+    private static final int FREQUENCE = FluxPCM.FREQUENCE;
+    private static final int CANAUX = FluxPCM.CANAUX;
+
+    /**
+     * Durée du fondu entre deux morceaux, en secondes.
+     */
+    public static final int FONDU = 3;
+
+    /**
+     * Durée de son décodé à l'avance, en secondes.
+     */
+    public static final int TAMPON = 1;
+
+    private final List<String> morceaux;
+    private final List<String> aJouer = new ArrayList<>();
+    private String dernier;
+
+    private CanalFlux canal;
+    private Thread decodage;
+    private volatile boolean arrete = true;
+
+    /**
+     * Crée le lecteur, sans rien décoder ni ouvrir.
+     * @param morceaux Chemins des fichiers mp3 à jouer.
+     */
+    public MusiqueMenu(List<String> morceaux) {
+        this.morceaux = new ArrayList<>(morceaux);
+    }
+
+    /**
+     * Démarre la lecture sur un morceau tiré au hasard, si elle n'est pas déjà en cours.
+     */
+    public synchronized void lecture() {
+        if (!arrete || morceaux.isEmpty())
+            return;
+        arrete = false;
+        canal = new CanalFlux(FREQUENCE * CANAUX * TAMPON);
+        canal.ouvrir();
+        decodage = new Thread(this::decoder, "musique-decodage");
+        decodage.setDaemon(true);
+        decodage.start();
+    }
+
+    /**
+     * Arrête la lecture et libère le fil de décodage, les tampons et la voie du mixeur.
+     */
+    public synchronized void arret() {
+        if (arrete)
+            return;
+        arrete = true;
+        decodage.interrupt();
+        try {
+            decodage.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.vider();
+        canal.fermer();
+        decodage = null;
+        canal = null;
+    }
+
+    /**
+     * Tire le morceau suivant : chaque morceau est joué une fois avant qu'un autre ne se
+     * répète, et jamais deux fois de suite.
+     */
+    private String suivant() {
+        if (aJouer.isEmpty()) {
+            aJouer.addAll(morceaux);
+            Collections.shuffle(aJouer);
+            if (aJouer.size() > 1 && aJouer.get(0).equals(dernier))
+                Collections.swap(aJouer, 0, aJouer.size() - 1);
+        }
+        dernier = aJouer.remove(0);
+        return dernier;
+    }
+
+    /**
+     * Fil de décodage : décode les morceaux les uns après les autres dans la voie en
+     * retenant la fin de chacun pour le fondu.
+     */
+    private void decoder() {
+        CanalFlux canal = this.canal;
+        short[] bloc = new short[4096];
+        // fin du morceau en cours, retenue le temps du fondu
+        short[] retenue = new short[FREQUENCE * CANAUX * FONDU];
+        short[] debut = new short[retenue.length];
+        int premier = 0;
+        int retenus = 0;
+        FluxPCM source = null;
+        try {
+            source = ouvrir();
+            canal.setSource(source);
+            while (!arrete) {
+                int n = source.lire(bloc, 0, bloc.length);
+                int sortis = 0;
+                for (int i = 0; i < n; i++) {
+                    if (retenus == retenue.length) {
+                        // la retenue est pleine : l'échantillon le plus ancien part vers la sortie
+                        bloc[sortis++] = swap(retenue, premier, bloc[i]);
+                        premier = (premier + 1) % retenue.length;
+                    } else {
+                        retenue[(premier + retenus) % retenue.length] = bloc[i];
+                        retenus++;
+                    }
+                }
+                canal.ecrire(bloc, 0, sortis);
+                if (n == bloc.length)
+                    continue;
+
+                // fin du morceau : fondu entre sa fin retenue et le début du suivant
+                source.fermer();
+                source = ouvrir();
+                canal.setSource(source);
+                int lus = source.lire(debut, 0, retenus);
+                for (int i = 0; i < retenus; i++) {
+                    int trame = i - i % CANAUX;
+                    int a = retenue[(premier + i) % retenue.length];
+                    int b = i < lus ? debut[i] : 0;
+                    debut[i] = (short) (a + (long) (b - a) * trame / retenus);
+                }
+                canal.ecrire(debut, 0, retenus);
+                premier = 0;
+                retenus = 0;
+            }
+        } catch (InterruptedException e) {
+            // arrêt demandé
+        } catch (IOException | JavaLayerException e) {
+            System.err.println("Musique de fond interrompue : " + e.getMessage());
+        } finally {
+            if (source != null)
+                source.fermer();
+        }
+    }
+
+    private static short swap(short[] tableau, int i, short valeur) {
+        short ancien = tableau[i];
+        tableau[i] = valeur;
+        return ancien;
+    }
+
+    /**
+     * Ouvre le morceau suivant, en passant ceux qui ne peuvent pas être lus.
+     */
+    private FluxPCM ouvrir() throws IOException {
+        IOException erreur = null;
+        for (int essai = 0; essai < morceaux.size(); essai++) {
+            String morceau = suivant();
+            try {
+                return new FluxPCM(morceau);
+            } catch (IOException e) {
+                System.err.println("Morceau illisible " + morceau + " : " + e.getMessage());
+                erreur = e;
+            }
+        }
+        throw erreur;
+    }
+}
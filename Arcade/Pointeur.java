@@ -4,6 +4,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import Arcade.ClavierBorneArcade;
 import MG2D.geometrie.Texture;
@@ -36,62 +39,96 @@ public class Pointeur {
      * Initialise les textures et la valeur par defaut.
      */
     public Pointeur() {
-        this.triangleGauche = new Texture("img/star.png", new Point(30, 492), 40, 40);
+        this.triangleGauche = Ressources.texture("img/star.png", new Point(30, 492), 40, 40);
         // this.triangleDroite = new Triangle(Couleur .ROUGE, new Point(550, 560), new
         // Point(520, 510), new Point(550, 460), true);
-        this.triangleDroite = new Texture("img/star.png", new Point(530, 492), 40, 40);
+        this.triangleDroite = Ressources.texture("img/star.png", new Point(530, 492), 40, 40);
         this.rectangleCentre = new Texture("img/select2.png", new Point(80, 460), 440, 100);
         this.value = 0;
+        if (ModeLancement.courant() == ModeLancement.RESERVE)
+            ReserveJVM.preparer();
     }
 
     /**
      * Methode lance le jeu associe au pointeur.
      * @param clavier Objet ClavierBorneArcade pour detecter les evenements clavier.
+     * @return Vrai si un lancement a ete demande, le jeu ayant pu modifier ses scores.
      */
-    public void lancerJeu(ClavierBorneArcade clavier) {
+    public boolean lancerJeu(ClavierBorneArcade clavier) {
         if (clavier.getBoutonJ1ATape()) {
             try {
+                Game game = Graphique.getGames().get(getValue()); // chemin du dossier
+                boolean jvm = game.getLang().equals("Java") || game.getLang().equals("Jar");
+                // temps de lancement mesuré depuis l'appui, voir LatenceLancement
+                LatenceLancement latence = new LatenceLancement(game,
+                        jvm ? ModeLancement.courant().name().toLowerCase() : "processus");
                 Graphique.stopMusiqueFond();
-                Game game = Graphique.getButtons().get(getValue()).getGame(); // chemin du dossier
                 String absFolderPath = Paths.get(game.getPath()).toAbsolutePath().toString();
 
+                // si des threads du jeu précédent tournent encore, le jeu est lancé dans son propre processus
+                if (jvm && ModeLancement.courant() == ModeLancement.INTERNE && HoteJeu.estDisponible()) {
+                    // le jeu tourne dans la JVM du menu, voir HoteJeu
+                    latence.preparerInterne();
+                    latence.demarre();
+                    SuperviseurJeu.heberger(game);
+                    latence.termine();
+                    Graphique.reprendreMenu();
+                    Graphique.lectureMusiqueFond();
+                    return true;
+                }
+                if (jvm && ModeLancement.courant() == ModeLancement.RESERVE) {
+                    // le jeu est confié à une JVM déjà démarrée, voir ReserveJVM
+                    SuperviseurJeu.attendre(ReserveJVM.lancer(game, latence), game);
+                    latence.termine();
+                    Graphique.lectureMusiqueFond();
+                    return true;
+                }
+
                 ProcessBuilder processBuilder = null;
                 if (game.getLang().equals("Python")) {
                     processBuilder = new ProcessBuilder("python", "./src/__main__.py");
                     processBuilder.directory(new File(absFolderPath));
                 } else if (game.getLang().equals("Java")) {
                     Path jar = Paths.get("./MG2D.jar").toAbsolutePath();
-                    Path parent = Paths.get(".").toAbsolutePath();
-                    String classpath = "." + ":" + jar + ":" + parent;
+                    Path parent = Paths.get(".").toAbsolutePath().normalize();
 
-                    processBuilder = new ProcessBuilder("java","-Dprism.forceGPU = true", "-Dsun.java2d.opengl=True", "-cp", classpath, game.getName());
-                processBuilder.directory(new File(absFolderPath));
+                    // chemin de classes .:MG2D.jar:.. précédé de l'archive des classes du jeu, voir ArchiveCDS
+                    List<String> commande = new ArrayList<>(Arrays.asList("java", "-Dprism.forceGPU = true", "-Dsun.java2d.opengl=True"));
+                    commande.addAll(ArchiveCDS.optionsJava(Paths.get(absFolderPath), jar, parent));
+                    commande.add(game.getName());
+                    processBuilder = new ProcessBuilder(commande);
+                    processBuilder.directory(new File(absFolderPath));
                 } else if (game.getLang().equals("Jar")) {
                 
                     Path jar = Paths.get("./MG2D.jar").toAbsolutePath();
-                    Path parent = Paths.get(".").toAbsolutePath();
-                    String classpath = "." + ":" + jar + ":" + parent;
+                    Path jarJeu = Paths.get(absFolderPath, game.getName() + ".jar");
 
-                    processBuilder = new ProcessBuilder("java", "-Dprism.forceGPU = true", "-Dsun.java2d.opengl=True","-jar", game.getName()+".jar");
+                    List<String> commande = new ArrayList<>(Arrays.asList("java", "-Dprism.forceGPU = true", "-Dsun.java2d.opengl=True"));
+                    commande.addAll(ArchiveCDS.optionsJar(Paths.get(absFolderPath), jarJeu, jar));
+                    commande.addAll(Arrays.asList("-jar", game.getName() + ".jar"));
+                    processBuilder = new ProcessBuilder(commande);
                     processBuilder.directory(new File(absFolderPath));
                 } else if (game.getLang().equals("Lua")) {
                     processBuilder = new ProcessBuilder("love", ".");
                     processBuilder.directory(new File(absFolderPath));
                 } else {
                     System.out.println("Lang:" + game.getLang());
-                    return;
+                    return false;
                 }
                 if (processBuilder == null) {
                     System.out.println("Lang:" + game.getLang());
-                    return;
+                    return false;
                 }
                 ;
                 processBuilder.inheritIO();
+                latence.preparer(processBuilder);
                 Process process = processBuilder.start();
+                latence.demarre();
                 // Process process =
                 // Runtime.getRuntime().exec("./"+Graphique.tableau[getValue()].getNom()+".sh");
-                int exitCode = process.waitFor(); // ajouté afin d'attendre la fin de l'exécution du jeu pour reprendre
-                                                  // le contrôle sur le menu
+                // attend la fin du jeu pour reprendre le contrôle sur le menu, ou l'arrête s'il est bloqué
+                int exitCode = SuperviseurJeu.attendre(process, game);
+                latence.termine();
                 Graphique.lectureMusiqueFond();
             } catch (IOException e) {
                 // TODO Auto-generated catch block
@@ -103,7 +140,9 @@ public class Pointeur {
 
             // System.out.println("le process sur
             // "+Graphique.tableau[getValue()].getChemin()+" est bien lancé");
+            return true;
         }
+        return false;
     }
 
     /**
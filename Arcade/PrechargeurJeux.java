@@ -0,0 +1,193 @@
+package Arcade;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Préchargement en arrière-plan des informations affichées par le menu pour chaque jeu.
+ * <p>
+ * À chaque déplacement du curseur, le menu indique la position sélectionnée et un fil
+ * d'exécution lit les meilleurs scores et décode la vignette des {@link #VOISINS} jeux
+ * situés au-dessus et au-dessous, en commençant par les plus proches. La liste des jeux
+ * étant circulaire, les voisins du premier jeu comprennent les derniers. Les fiches sont
+ * gardées dans un cache de taille bornée qui oublie d'abord les moins récemment utilisées :
+ * un déplacement du curseur n'est alors qu'un échange d'objets déjà en mémoire.
+ * <p>
+ * Si la fiche demandée n'est pas encore prête, elle est lue immédiatement par le fil du
+ * menu, comme avant le préchargement.
+ */
+public class PrechargeurJeux {
+
+    /**
+     * Nombre de jeux préchargés de chaque côté du curseur.
+     */
+    public static final int VOISINS = 3;
+
+    private final List<Game> games;
+    private final int voisins;
+    private final Map<Integer, FicheJeu> cache;
+
+    /**
+     * Position du curseur demandée par le menu, -1 tant qu'aucune n'a été demandée.
+     */
+    private int centre = -1;
+    private boolean demande = false;
+
+    /**
+     * Crée le préchargeur et démarre son fil d'exécution.
+     * @param games Jeux du menu, dans l'ordre des boutons.
+     * @param voisins Nombre de jeux préchargés de chaque côté du curseur.
+     */
+    public PrechargeurJeux(List<Game> games, int voisins) {
+        this.games = games;
+        this.voisins = voisins;
+        // une fenêtre de préchargement de marge : revenir en arrière ne recharge rien
+        final int capacite = 2 * (2 * voisins + 1);
+        this.cache = new LinkedHashMap<Integer, FicheJeu>(capacite, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, FicheJeu> eldest) {
+                return size() > capacite;
+            }
+        };
+        Thread fil = new Thread(this::precharger, "prechargement-jeux");
+        fil.setDaemon(true);
+        fil.setPriority(Thread.MIN_PRIORITY);
+        fil.start();
+    }
+
+    /**
+     * Indique la position du curseur : les voisins de ce jeu seront préchargés.
+     * Cette méthode ne bloque pas.
+     * @param index Position du jeu sélectionné.
+     */
+    public synchronized void centrerSur(int index) {
+        centre = index;
+        demande = true;
+        notifyAll();
+    }
+
+    /**
+     * Retourne la fiche d'un jeu, lue depuis le cache ou à défaut depuis le disque.
+     * @param index Position du jeu.
+     * @return La fiche du jeu.
+     */
+    public FicheJeu obtenir(int index) {
+        FicheJeu fiche;
+        synchronized (this) {
+            fiche = cache.get(index);
+        }
+        if (fiche == null) {
+            fiche = charger(games.get(index));
+            synchronized (this) {
+                cache.put(index, fiche);
+            }
+        }
+        return fiche;
+    }
+
+    /**
+     * Oublie la fiche d'un jeu, par exemple après une partie qui a pu modifier ses scores.
+     * @param index Position du jeu.
+     */
+    public synchronized void invalider(int index) {
+        cache.remove(index);
+    }
+
+    /**
+     * Boucle du fil de préchargement : attend une position puis charge ses voisins du plus
+     * proche au plus éloigné, en recommençant dès que le curseur se déplace.
+     */
+    private void precharger() {
+        while (true) {
+            int c;
+            synchronized (this) {
+                while (!demande) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                demande = false;
+                c = centre;
+            }
+            int n = games.size();
+            boucle:
+            for (int d = 0; d <= voisins && d <= n / 2; d++) {
+                for (int sens = 1; sens >= -1; sens -= 2) {
+                    int index = Math.floorMod(c + sens * d, n);
+                    synchronized (this) {
+                        if (demande)
+                            break boucle;
+                        if (cache.containsKey(index))
+                            continue;
+                    }
+                    FicheJeu fiche = charger(games.get(index));
+                    synchronized (this) {
+                        cache.putIfAbsent(index, fiche);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lit les meilleurs scores et décode la vignette d'un jeu.
+     */
+    static FicheJeu charger(Game game) {
+        ArrayList<LigneHighScore> highScores = null;
+        String fichier = game.getPath() + "/highscore";
+        if (new File(fichier).exists())
+            highScores = HighScore.lireFichier(fichier);
+
+        BufferedImage vignette = null;
+        String image = game.getImagePath();
+        if (image.isEmpty() && !game.getPath().isEmpty())
+            image = game.getPath() + "/photo_small.png";
+        if (!image.isEmpty()) {
+            try {
+                vignette = ImageIO.read(new File(image));
+            } catch (IOException e) {
+                System.err.println("Vignette illisible pour " + game.getName() + " : " + e.getMessage());
+            }
+        }
+        return new FicheJeu(highScores, vignette);
+    }
+
+    /**
+     * Informations d'un jeu prêtes à être affichées par le menu.
+     */
+    public static class FicheJeu {
+
+        private final ArrayList<LigneHighScore> highScores;
+        private final BufferedImage vignette;
+
+        FicheJeu(ArrayList<LigneHighScore> highScores, BufferedImage vignette) {
+            this.highScores = highScores;
+            this.vignette = vignette;
+        }
+
+        /**
+         * Retourne les meilleurs scores du jeu.
+         * @return Les scores, null si le jeu n'a pas de fichier highscore.
+         */
+        ArrayList<LigneHighScore> getHighScores() {
+            return highScores;
+        }
+
+        /**
+         * Retourne la vignette décodée du jeu.
+         * @return La vignette, null si elle est absente ou illisible.
+         */
+        public BufferedImage getVignette() {
+            return vignette;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package Arcade;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import MG2D.Fenetre;
+
+/**
+ * Réserve d'une JVM démarrée à l'avance pour lancer les jeux Java et Jar.
+ * <p>
+ * Le menu garde en permanence une JVM {@link AmorceJVM} en attente, qui a déjà chargé AWT,
+ * ImageIO, MG2D et le paquetage Arcade. À l'appui sur A, le jeu lui est transmis par son
+ * entrée standard et une nouvelle JVM de réserve est démarrée en arrière-plan pour le
+ * lancement suivant. Le temps entre l'appui et la première image se réduit ainsi à
+ * l'initialisation propre du jeu.
+ * <p>
+ * Les jeux sont exécutés par {@link HoteJeu} dans la JVM de réserve. Celle-ci est démarrée
+ * avant que le jeu ne soit connu et garde le dossier de la borne pour répertoire courant :
+ * le chemin absolu du dossier du jeu lui est transmis avec la demande, et l'hôte le fixe dans
+ * {@link DossierJeu} pour que le jeu y trouve ses fichiers comme s'il y avait été lancé.
+ */
+public class ReserveJVM {
+
+    /**
+     * JVM en attente d'un jeu, null si aucune n'a encore été démarrée.
+     */
+    private static Process enAttente;
+
+    /**
+     * Fichier dans lequel la JVM en attente signalera la première image du jeu.
+     * @see LatenceLancement
+     */
+    private static Path premiereImage;
+
+    /**
+     * Démarre une JVM de réserve si aucune n'est prête.
+     * Le démarrage de la JVM se poursuit en arrière-plan, cette méthode ne bloque pas.
+     */
+    public static synchronized void preparer() {
+        if (enAttente != null && enAttente.isAlive())
+            return;
+        try {
+            premiereImage = LatenceLancement.nouveauFichier();
+            enAttente = demarrer(premiereImage);
+        } catch (IOException e) {
+            System.err.println("Impossible de démarrer la JVM de réserve : " + e.getMessage());
+            enAttente = null;
+        }
+    }
+
+    /**
+     * Confie un jeu à la JVM de réserve, puis en prépare une nouvelle pour le lancement suivant.
+     * Si aucune JVM n'est prête, une JVM est démarrée à froid.
+     * @param game Jeu à lancer, de langage "Java" ou "Jar".
+     * @param latence Mesure du lancement, qui reçoit le fichier de première image de la JVM.
+     * @return Le processus exécutant le jeu.
+     * @throws IOException si aucune JVM ne peut être démarrée ou jointe.
+     */
+    public static synchronized Process lancer(Game game, LatenceLancement latence) throws IOException {
+        Process jvm = enAttente;
+        Path fichier = premiereImage;
+        enAttente = null;
+        if (jvm == null || !jvm.isAlive()) {
+            fichier = LatenceLancement.nouveauFichier();
+            jvm = demarrer(fichier);
+        }
+        latence.utiliser(fichier);
+
+        String demande = Paths.get(game.getPath()).toAbsolutePath().normalize() + "\t" + game.getLang() + "\t" + game.getName() + "\n";
+        OutputStream entree = jvm.getOutputStream();
+        entree.write(demande.getBytes(StandardCharsets.UTF_8));
+        entree.close();
+        latence.demarre();
+
+        preparer();
+        return jvm;
+    }
+
+    /**
+     * Démarre une JVM {@link AmorceJVM} dans le dossier de la borne.
+     * @param premiereImage Fichier de première image transmis à la JVM, ou null.
+     */
+    private static Process demarrer(Path premiereImage) throws IOException {
+        List<String> commande = new ArrayList<>(Arrays.asList("java", "-Dsun.java2d.opengl=True",
+                "-cp", ".:./MG2D.jar", "Arcade.AmorceJVM"));
+        ProcessBuilder processBuilder = new ProcessBuilder(commande);
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        if (premiereImage != null)
+            processBuilder.environment().put(Fenetre.PREMIERE_IMAGE, premiereImage.toString());
+        return processBuilder.start();
+    }
+}
@@ -0,0 +1,200 @@
+package Arcade;
+
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import MG2D.audio.BanqueSons;
+import MG2D.geometrie.Point;
+import MG2D.geometrie.Texture;
+
+/**
+ * Registre des polices, sons et images du menu.
+ * <p>
+ * Chaque fichier est lu une seule fois, au premier usage, puis la même instance est rendue à
+ * tous les appelants : une police dérivée est créée une fois par taille, un son est décodé
+ * une fois dans la {@link BanqueSons} du menu et une image décodée est partagée par toutes
+ * les textures qui l'affichent. Les méthodes peuvent être appelées depuis n'importe quel fil
+ * d'exécution.
+ * <p>
+ * Les chemins sont relatifs au dossier de la borne, comme pour {@link Texture} et
+ * {@link MG2D.audio.Bruitage}. La mémoire occupée par chaque ressource est donnée par
+ * {@link #memoire()}.
+ */
+public class Ressources {
+
+    /**
+     * Propriété système qui, à true, affiche {@link #rapport()} au démarrage du menu
+     * ({@code java -Dborne.ressources.rapport=true ...}).
+     */
+    public static final String RAPPORT = "borne.ressources.rapport";
+
+    private static final Map<String, Font> polices = new ConcurrentHashMap<>();
+    private static final Map<String, Font> policesDerivees = new ConcurrentHashMap<>();
+    private static final Map<String, Integer> sons = new ConcurrentHashMap<>();
+    private static final Map<String, Texture> images = new ConcurrentHashMap<>();
+
+    /**
+     * Nombre de sons du menu pouvant être joués en même temps.
+     */
+    private static final int VOIX = 4;
+
+    /**
+     * Banque des sons du menu, créée au premier son. Volatile : suspendreSons et reprendreSons la lisent sans verrou.
+     */
+    private static volatile BanqueSons banque;
+
+    /**
+     * Octets occupés par chaque ressource chargée, indexés par "type chemin".
+     */
+    private static final Map<String, Long> tailles = new ConcurrentHashMap<>();
+
+    private Ressources() {
+    }
+
+    /**
+     * Retourne une police TrueType à la taille demandée.
+     * @param chemin Chemin du fichier .ttf.
+     * @param taille Taille de la police en points.
+     * @return La police partagée, null si le fichier ne peut pas être lu.
+     */
+    public static Font police(String chemin, float taille) {
+        Font base = polices.computeIfAbsent(chemin, Ressources::chargerPolice);
+        if (base == null)
+            return null;
+        return policesDerivees.computeIfAbsent(chemin + "@" + taille, cle -> base.deriveFont(taille));
+    }
+
+    /**
+     * Décode un fichier son dans la banque du menu, s'il ne l'est pas déjà.
+     * @param chemin Chemin du fichier mp3.
+     * @return Le numéro du son dans la banque, -1 s'il ne peut pas être lu.
+     */
+    public static int son(String chemin) {
+        return sons.computeIfAbsent(chemin, Ressources::chargerSon);
+    }
+
+    /**
+     * Joue un son une fois, sans attendre la fin de la lecture.
+     * @param chemin Chemin du fichier mp3.
+     */
+    public static void jouer(String chemin) {
+        int son = son(chemin);
+        if (son >= 0)
+            banque().jouer(son);
+    }
+
+    /**
+     * Ferme la sortie audio des sons du menu, pour la laisser au jeu lancé.
+     */
+    public static void suspendreSons() {
+        BanqueSons banque = Ressources.banque;
+        if (banque != null)
+            banque.fermer();
+    }
+
+    /**
+     * Rouvre la sortie audio des sons du menu après une partie.
+     */
+    public static void reprendreSons() {
+        BanqueSons banque = Ressources.banque;
+        if (banque != null)
+            banque.ouvrir();
+    }
+
+    /**
+     * Retourne une image décodée.
+     * @param chemin Chemin du fichier image.
+     * @return L'image partagée, qui ne doit pas être modifiée.
+     */
+    public static BufferedImage image(String chemin) {
+        return modele(chemin).getImg();
+    }
+
+    /**
+     * Crée une texture affichant une image partagée, sans la décoder à nouveau.
+     * @param chemin Chemin du fichier image.
+     * @param a Position du coin bas gauche de la texture.
+     * @param larg Largeur de la texture.
+     * @param haut Hauteur de la texture.
+     * @return Une nouvelle texture, qui peut être déplacée indépendamment des autres.
+     */
+    public static Texture texture(String chemin, Point a, int larg, int haut) {
+        // la copie d'une texture partage les pixels de son image, voir Texture(Texture)
+        Texture texture = new Texture(modele(chemin));
+        texture.setA(a);
+        texture.setTaille(larg, haut);
+        return texture;
+    }
+
+    /**
+     * Retourne la mémoire occupée par chaque ressource chargée.
+     * @return Le nombre d'octets de chaque ressource, indexé par "type chemin" et trié.
+     */
+    public static Map<String, Long> memoire() {
+        return new TreeMap<>(tailles);
+    }
+
+    /**
+     * Décrit la mémoire occupée par les ressources chargées, une ligne par ressource.
+     * @return Le rapport, terminé par le total.
+     */
+    public static String rapport() {
+        StringBuilder rapport = new StringBuilder("Ressources du menu :\n");
+        long total = 0;
+        for (Map.Entry<String, Long> taille : memoire().entrySet()) {
+            rapport.append("  ").append(taille.getKey()).append(" : ").append(taille.getValue() / 1024).append(" Kio\n");
+            total += taille.getValue();
+        }
+        rapport.append("  total : ").append(total / 1024).append(" Kio");
+        return rapport.toString();
+    }
+
+    private static Font chargerPolice(String chemin) {
+        try {
+            File fichier = new File(chemin);
+            Font font = Font.createFont(Font.TRUETYPE_FONT, fichier);
+            tailles.put("police " + chemin, fichier.length());
+            return font;
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
+    private static synchronized BanqueSons banque() {
+        if (banque == null)
+            banque = new BanqueSons(VOIX);
+        return banque;
+    }
+
+    private static int chargerSon(String chemin) {
+        try {
+            BanqueSons banque = banque();
+            int son = banque.charger(chemin);
+            tailles.put("son " + chemin, (long) banque.getTaille(son) * 2);
+            return son;
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Texture de référence d'une image, à sa taille réelle, dont les autres sont des copies.
+     */
+    private static Texture modele(String chemin) {
+        return images.computeIfAbsent(chemin, cle -> {
+            Texture modele = new Texture(cle, new Point(0, 0));
+            DataBuffer pixels = modele.getImg().getRaster().getDataBuffer();
+            long octets = (long) pixels.getSize() * pixels.getNumBanks() * DataBuffer.getDataTypeSize(pixels.getDataType()) / 8;
+            tailles.put("image " + cle, octets);
+            return modele;
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package Arcade;
+
+/**
+ * Signale qu'un jeu hébergé par {@link HoteJeu} a demandé à quitter.
+ * <p>
+ * Les classes d'un jeu hébergé sont chargées par {@link ChargeurJeu}, qui remplace chaque
+ * appel à {@code System.exit(int)} par un appel à {@link #exit(int)}. Au lieu d'arrêter la JVM
+ * du menu, la demande de sortie est transmise à l'hôte puis cette erreur est levée pour
+ * dérouler la pile du jeu. Elle hérite de {@link Error} afin de ne pas être interceptée par
+ * les {@code catch (Exception e)} présents dans les jeux.
+ */
+public class SortieJeu extends Error {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+
+    /**
+     * Crée une demande de sortie portant le code de retour du jeu.
+     * @param code Code de retour passé à {@code System.exit}.
+     */
+    SortieJeu(int code) {
+        super("Sortie du jeu (code " + code + ")", null, false, false);
+        this.code = code;
+    }
+
+    /**
+     * Remplaçant de {@code System.exit(int)} pour les jeux hébergés.
+     * <p>
+     * Le nom et la signature sont identiques à ceux de {@code System.exit} afin que
+     * {@link ChargeurJeu} n'ait qu'à changer la classe ciblée par l'appel.
+     * @param code Code de retour du jeu.
+     */
+    public static void exit(int code) {
+        HoteJeu.demanderSortie(code);
+        throw new SortieJeu(code);
+    }
+
+    /**
+     * Retourne le code de retour demandé par le jeu.
+     * @return Le code de retour.
+     */
+    public int getCode() {
+        return code;
+    }
+}
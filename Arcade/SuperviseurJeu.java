@@ -0,0 +1,446 @@
+package Arcade;
+
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Surveillance des jeux lancés dans un processus séparé ou hébergés par {@link HoteJeu}.
+ * <p>
+ * Pendant la partie, le temps processeur et la mémoire résidente du jeu et de ses processus
+ * fils sont relevés toutes les {@link #PERIODE} ms dans {@code /proc/<pid>}. Pour un jeu
+ * hébergé, le temps processeur est celui des threads du jeu et la mémoire n'est pas relevée.
+ * Le jeu est arrêté et le menu reprend la main :
+ * <ul>
+ * <li>si la combinaison de sortie est maintenue pendant
+ * {@code borne.superviseur.combo.duree} ms (3000 par défaut) ;</li>
+ * <li>si le dossier du jeu contient le fichier {@link #ARRET_BLOCAGE} et que, pendant
+ * {@code borne.superviseur.blocage} secondes (30 par défaut, 0 pour désactiver), le jeu a
+ * utilisé en moyenne moins de {@code borne.superviseur.blocage.cpu} pour cent d'un cœur
+ * (1 par défaut) et aucune touche n'a été appuyée. Une JVM bloquée consomme encore un peu
+ * de processeur (ramasse-miettes, compilateur) : seul un seuil permet de la distinguer d'un
+ * jeu qui affiche des images.</li>
+ * </ul>
+ * Sans ce fichier, un blocage est seulement signalé sur la sortie d'erreur : un jeu qui
+ * attend sur son écran titre, de pause ou de fin de partie consomme aussi très peu de
+ * processeur, et une boucle infinie n'est pas détectée.
+ * Un jeu hébergé ne peut pas être tué : la partie est abandonnée, ses fenêtres fermées et
+ * ses threads interrompus, voir {@link HoteJeu}.
+ * La combinaison est lue directement sur les claviers du noyau ({@code /dev/input/event*}),
+ * car le jeu a le focus de l'affichage : l'utilisateur de la borne doit appartenir au groupe
+ * {@code input}. Les touches sont données par {@code borne.superviseur.combo}, codes du
+ * noyau séparés par des virgules (par défaut 21,18 : touches Y et E, bouton Z des deux
+ * joueurs), et les périphériques par {@code borne.superviseur.clavier} (par défaut, tous
+ * les claviers déclarés dans {@code /proc/bus/input/devices}).
+ * <p>
+ * À la fin de chaque partie, une ligne est ajoutée à {@link #JOURNAL} avec la durée, la cause
+ * de fin, les pics de mémoire et de processeur et le temps processeur total, afin de repérer
+ * les jeux qui saturent la borne.
+ */
+public class SuperviseurJeu {
+
+    /**
+     * Journal des parties, relatif au dossier de la borne.
+     */
+    public static final String JOURNAL = "sessions.log";
+
+    /**
+     * Fichier du dossier d'un jeu autorisant son arrêt quand il semble bloqué.
+     */
+    public static final String ARRET_BLOCAGE = "arret_blocage";
+
+    /**
+     * Période d'échantillonnage en ms.
+     */
+    public static final long PERIODE = 500;
+
+    /**
+     * Nombre de tops d'horloge par seconde des temps de {@code /proc/<pid>/stat} (USER_HZ).
+     */
+    private static final int TOPS_PAR_SECONDE = 100;
+
+    /**
+     * Type des événements de touche du noyau.
+     */
+    private static final int EV_KEY = 1;
+
+    private static final long BLOCAGE = Long.getLong("borne.superviseur.blocage", 30) * 1000;
+    private static final double SEUIL_BLOCAGE = seuil(System.getProperty("borne.superviseur.blocage.cpu", "1"));
+    private static final long DUREE_COMBO = Long.getLong("borne.superviseur.combo.duree", 3000);
+    private static final Set<Integer> COMBO = codes(System.getProperty("borne.superviseur.combo", "21,18"));
+
+    /**
+     * Touches de la combinaison actuellement enfoncées, protégé par le verrou de la classe.
+     */
+    private static final Set<Integer> enfoncees = new HashSet<>();
+
+    /**
+     * Instant depuis lequel toute la combinaison est enfoncée, 0 sinon.
+     */
+    private static volatile long comboDepuis = 0;
+
+    /**
+     * Instant du dernier appui sur une touche d'un clavier surveillé, 0 si aucun.
+     */
+    private static volatile long derniereTouche = 0;
+
+    private static boolean ecoute = false;
+
+    /**
+     * Attend la fin d'un jeu en le surveillant, puis enregistre la partie dans le journal.
+     * @param process Processus du jeu.
+     * @param game Jeu lancé.
+     * @return Le code de retour du processus.
+     * @throws InterruptedException si le fil du menu est interrompu pendant l'attente.
+     */
+    public static int attendre(Process process, Game game) throws InterruptedException {
+        Surveillance surveillance = new Surveillance(game);
+        while (!process.waitFor(PERIODE, TimeUnit.MILLISECONDS)) {
+            long maintenant = System.currentTimeMillis();
+            long[] mesure = mesurer(process.toHandle());
+            if (mesure != null)
+                surveillance.mesurer(maintenant, mesure[0] * (1000000000L / TOPS_PAR_SECONDE), mesure[1]);
+            String fin = surveillance.verifier(maintenant);
+            if (fin == null)
+                continue;
+            System.err.println("Arrêt de " + game.getName() + " (" + fin + ")");
+            tuer(process);
+            break;
+        }
+        process.waitFor();
+        surveillance.journaliser(game, process.exitValue());
+        return process.exitValue();
+    }
+
+    /**
+     * Lance un jeu Java ou Jar dans la JVM du menu avec {@link HoteJeu}, le surveille jusqu'à
+     * la fin de la partie, puis enregistre la partie dans le journal.
+     * @param game Jeu à lancer.
+     * @return Le code de retour du jeu.
+     * @throws Exception si le jeu ne peut pas être chargé.
+     */
+    public static int heberger(Game game) throws Exception {
+        Surveillance surveillance = new Surveillance(game);
+        int code = HoteJeu.lancer(game, HoteJeu.chargeur(game), surveillance);
+        surveillance.journaliser(game, code);
+        return code;
+    }
+
+    /**
+     * Mesure le temps processeur (en tops) et la mémoire résidente (en Kio) d'un processus et
+     * de ses descendants.
+     * @return Les deux mesures, null si {@code /proc} n'est pas disponible.
+     */
+    static long[] mesurer(ProcessHandle racine) {
+        List<ProcessHandle> processus = new ArrayList<>();
+        processus.add(racine);
+        try (Stream<ProcessHandle> descendants = racine.descendants()) {
+            processus.addAll(descendants.collect(Collectors.toList()));
+        }
+        long cpu = 0;
+        long rss = 0;
+        boolean lu = false;
+        for (ProcessHandle p : processus) {
+            Path dossier = Paths.get("/proc", Long.toString(p.pid()));
+            try {
+                String stat = new String(Files.readAllBytes(dossier.resolve("stat")), StandardCharsets.US_ASCII);
+                // le nom du processus, entre parenthèses, peut contenir des espaces
+                String[] champs = stat.substring(stat.lastIndexOf(')') + 2).trim().split(" ");
+                cpu += Long.parseLong(champs[11]) + Long.parseLong(champs[12]);
+                for (String ligne : Files.readAllLines(dossier.resolve("status"), StandardCharsets.US_ASCII)) {
+                    if (ligne.startsWith("VmRSS:"))
+                        rss += Long.parseLong(ligne.replaceAll("[^0-9]", ""));
+                }
+                lu = true;
+            } catch (IOException | RuntimeException e) {
+                // processus terminé entre-temps, ou système sans /proc
+            }
+        }
+        return lu ? new long[] { cpu, rss } : null;
+    }
+
+    /**
+     * Demande l'arrêt du jeu et de ses processus fils, puis les arrête de force s'ils ne
+     * se sont pas terminés au bout de 2 s.
+     */
+    private static void tuer(Process process) throws InterruptedException {
+        List<ProcessHandle> descendants;
+        try (Stream<ProcessHandle> flux = process.descendants()) {
+            descendants = flux.collect(Collectors.toList());
+        }
+        descendants.forEach(ProcessHandle::destroy);
+        process.destroy();
+        if (!process.waitFor(2, TimeUnit.SECONDS)) {
+            descendants.forEach(ProcessHandle::destroyForcibly);
+            process.destroyForcibly();
+        }
+    }
+
+    private static void journaliser(String ligne) {
+        Path journal = Paths.get(JOURNAL);
+        try {
+            boolean nouveau = !Files.exists(journal);
+            try (BufferedWriter out = Files.newBufferedWriter(journal, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (nouveau)
+                    out.write("date\tjeu\tduree_s\tcode\tfin\trss_max_kio\tcpu_max_pct\tcpu_total_s\n");
+                out.write(ligne);
+                out.write('\n');
+            }
+        } catch (IOException e) {
+            System.err.println("Impossible d'écrire dans " + JOURNAL + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Oublie l'appui sur la combinaison qui a mis fin à la partie précédente : la durée de
+     * maintien est comptée à nouveau, à partir du lancement si elle est encore enfoncée.
+     */
+    private static synchronized void reinitialiserCombo() {
+        comboDepuis = !COMBO.isEmpty() && enfoncees.containsAll(COMBO) ? System.currentTimeMillis() : 0;
+    }
+
+    /**
+     * Démarre, une seule fois, la lecture des claviers du noyau.
+     */
+    private static synchronized void ecouterCombo() {
+        if (ecoute || COMBO.isEmpty())
+            return;
+        ecoute = true;
+        String claviers = System.getProperty("borne.superviseur.clavier");
+        List<String> peripheriques = claviers != null ? List.of(claviers.split(",")) : claviers();
+        if (peripheriques.isEmpty())
+            System.err.println("Aucun clavier trouvé, combinaison de sortie désactivée");
+        for (String peripherique : peripheriques) {
+            Thread fil = new Thread(() -> lireClavier(peripherique.trim()), "combo-" + peripherique);
+            fil.setDaemon(true);
+            fil.start();
+        }
+    }
+
+    /**
+     * Liste les périphériques déclarés comme claviers par le noyau.
+     */
+    private static List<String> claviers() {
+        List<String> claviers = new ArrayList<>();
+        try {
+            for (String ligne : Files.readAllLines(Paths.get("/proc/bus/input/devices"))) {
+                if (!ligne.startsWith("H: Handlers=") || !ligne.contains("kbd"))
+                    continue;
+                for (String handler : ligne.substring(ligne.indexOf('=') + 1).split(" ")) {
+                    if (handler.startsWith("event"))
+                        claviers.add("/dev/input/" + handler);
+                }
+            }
+        } catch (IOException e) {
+            // système sans /proc
+        }
+        return claviers;
+    }
+
+    /**
+     * Lit les événements {@code input_event} d'un clavier et tient à jour l'état de la
+     * combinaison de sortie.
+     */
+    private static void lireClavier(String peripherique) {
+        // struct input_event : timeval (2 long), type et code (u16), valeur (s32)
+        int taille = "32".equals(System.getProperty("sun.arch.data.model")) ? 16 : 24;
+        byte[] evenement = new byte[taille];
+        ByteBuffer tampon = ByteBuffer.wrap(evenement).order(ByteOrder.nativeOrder());
+        try (DataInputStream in = new DataInputStream(new FileInputStream(peripherique))) {
+            while (true) {
+                in.readFully(evenement);
+                int type = tampon.getShort(taille - 8) & 0xFFFF;
+                int code = tampon.getShort(taille - 6) & 0xFFFF;
+                int valeur = tampon.getInt(taille - 4);
+                if (type == EV_KEY && valeur == 1)
+                    derniereTouche = System.currentTimeMillis();
+                if (type == EV_KEY && COMBO.contains(code) && valeur != 2)
+                    touche(code, valeur == 1);
+            }
+        } catch (EOFException e) {
+            // clavier débranché
+        } catch (IOException e) {
+            System.err.println("Combinaison de sortie indisponible sur " + peripherique + " : " + e.getMessage());
+        }
+    }
+
+    private static synchronized void touche(int code, boolean enfoncee) {
+        if (enfoncee)
+            enfoncees.add(code);
+        else
+            enfoncees.remove(code);
+        if (!enfoncees.containsAll(COMBO))
+            comboDepuis = 0;
+        else if (comboDepuis == 0)
+            comboDepuis = System.currentTimeMillis();
+    }
+
+    private static double seuil(String valeur) {
+        try {
+            return Double.parseDouble(valeur.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Seuil de blocage invalide : " + valeur);
+            return 1;
+        }
+    }
+
+    private static Set<Integer> codes(String liste) {
+        Set<Integer> codes = new HashSet<>();
+        for (String code : liste.split(",")) {
+            try {
+                if (!code.isBlank())
+                    codes.add(Integer.parseInt(code.trim()));
+            } catch (NumberFormatException e) {
+                System.err.println("Code de touche invalide : " + code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Mesures et causes d'arrêt d'une partie en cours.
+     */
+    static final class Surveillance {
+
+        private final long debut = System.currentTimeMillis();
+
+        /**
+         * Relevés (date en ms, temps processeur cumulé en ns) couvrant au moins la durée de blocage.
+         */
+        private final ArrayDeque<long[]> releves = new ArrayDeque<>();
+
+        private long cpuPrecedent = -1;
+        private long datePrecedente = debut;
+        private long rssMax = 0;
+        private double cpuMax = 0;
+        private String fin = "fin";
+
+        private final Game game;
+
+        /**
+         * Vrai si le jeu peut être arrêté quand il semble bloqué, voir {@link SuperviseurJeu#ARRET_BLOCAGE}.
+         */
+        private final boolean arretBlocage;
+
+        /**
+         * Vrai si le blocage en cours a déjà été signalé.
+         */
+        private boolean signale = false;
+
+        /**
+         * @param game Jeu surveillé.
+         */
+        Surveillance(Game game) {
+            this.game = game;
+            this.arretBlocage = !game.getPath().isEmpty() && Files.exists(Paths.get(game.getPath(), ARRET_BLOCAGE));
+            ecouterCombo();
+            reinitialiserCombo();
+        }
+
+        /**
+         * Enregistre un relevé du jeu.
+         * @param maintenant Date du relevé en ms.
+         * @param cpu Temps processeur cumulé du jeu en ns.
+         * @param rss Mémoire résidente en Kio, négative si elle n'est pas mesurée.
+         */
+        void mesurer(long maintenant, long cpu, long rss) {
+            rssMax = Math.max(rssMax, rss);
+            if (cpuPrecedent >= 0 && maintenant > datePrecedente)
+                cpuMax = Math.max(cpuMax, pourcentage(cpu - cpuPrecedent, maintenant - datePrecedente));
+            cpuPrecedent = cpu;
+            datePrecedente = maintenant;
+
+            releves.addLast(new long[] { maintenant, cpu });
+            // on garde le plus récent des relevés antérieurs à la fenêtre de blocage
+            while (releves.size() > 2 && maintenant - secondReleve()[0] >= BLOCAGE)
+                releves.removeFirst();
+        }
+
+        /**
+         * Indique si la partie doit être arrêtée.
+         * @param maintenant Date en ms.
+         * @return La cause de l'arrêt ("combo" ou "blocage"), null si la partie continue.
+         */
+        String verifier(long maintenant) {
+            long combo = comboDepuis;
+            if (combo != 0 && maintenant - combo >= DUREE_COMBO) {
+                fin = "combo";
+                return fin;
+            }
+            if (!bloque(maintenant)) {
+                signale = false;
+                return null;
+            }
+            if (arretBlocage) {
+                fin = "blocage";
+                return fin;
+            }
+            if (!signale) {
+                System.err.println(game.getName() + " semble bloqué (arrêt possible avec le fichier " + ARRET_BLOCAGE + ")");
+                signale = true;
+            }
+            return null;
+        }
+
+        /**
+         * Indique si le jeu a consommé moins que le seuil pendant toute la durée de blocage, sans appui sur une touche.
+         */
+        private boolean bloque(long maintenant) {
+            if (BLOCAGE <= 0 || releves.size() < 2)
+                return false;
+            long[] premier = releves.getFirst();
+            long[] dernier = releves.getLast();
+            long duree = dernier[0] - premier[0];
+            return duree >= BLOCAGE && derniereTouche < premier[0]
+                    && pourcentage(dernier[1] - premier[1], duree) < SEUIL_BLOCAGE;
+        }
+
+        private long[] secondReleve() {
+            Iterator<long[]> it = releves.iterator();
+            it.next();
+            return it.next();
+        }
+
+        /**
+         * Ajoute la partie au journal.
+         */
+        void journaliser(Game game, int code) {
+            double duree = (System.currentTimeMillis() - debut) / 1000.0;
+            double cpuTotal = Math.max(cpuPrecedent, 0) / 1e9;
+            SuperviseurJeu.journaliser(String.format(Locale.ROOT, "%s\t%s\t%.1f\t%d\t%s\t%d\t%.0f\t%.1f",
+                    LocalDateTime.now().withNano(0).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), game.getName(), duree,
+                    code, fin, rssMax, cpuMax, cpuTotal));
+        }
+
+        /**
+         * Pourcentage d'un cœur utilisé.
+         * @param cpu Temps processeur en ns.
+         * @param duree Durée en ms.
+         */
+        private static double pourcentage(long cpu, long duree) {
+            return 100.0 * cpu / 1000000 / duree;
+        }
+    }
+}
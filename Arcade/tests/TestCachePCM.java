@@ -0,0 +1,136 @@
+package Arcade.tests;
+
+import MG2D.audio.CachePCM;
+import MG2D.audio.FluxPCM;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le cache des sons décodés de MG2D (CachePCM)
+ */
+public class TestCachePCM {
+
+    private static final long HEURE = 3600 * 1000;
+
+    @TempDir
+    Path temp;
+
+    private Path dossierAvant;
+    private long tailleAvant;
+    private Path cache;
+    private Path son;
+
+    /**
+     * Cherche sound/bip.mp3 dans les dossiers parents de la classe de test, puis du répertoire courant.
+     */
+    private static Path bip() throws URISyntaxException {
+        Path classes = Paths.get(TestCachePCM.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        for (Path depart : new Path[] { classes, Paths.get("").toAbsolutePath() }) {
+            for (Path dossier = depart; dossier != null; dossier = dossier.getParent()) {
+                Path bip = dossier.resolve("sound/bip.mp3");
+                if (Files.exists(bip))
+                    return bip;
+            }
+        }
+        return fail("sound/bip.mp3 introuvable depuis " + classes);
+    }
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        son = Files.copy(bip(), temp.resolve("bip.mp3"));
+        cache = temp.resolve("cache");
+        dossierAvant = CachePCM.getDossier();
+        tailleAvant = CachePCM.getTailleMax();
+        CachePCM.setDossier(cache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CachePCM.setDossier(dossierAvant);
+        CachePCM.setTailleMax(tailleAvant);
+    }
+
+    private List<Path> fichiers(String motif) throws IOException {
+        List<Path> liste = new ArrayList<Path>();
+        try (DirectoryStream<Path> dossier = Files.newDirectoryStream(cache, motif)) {
+            for (Path fichier : dossier)
+                liste.add(fichier);
+        }
+        return liste;
+    }
+
+    private long trames() throws Exception {
+        FluxPCM flux = new FluxPCM(son.toString());
+        short[] tampon = new short[4096];
+        while (flux.lire(tampon, 0, tampon.length) > 0)
+            ;
+        flux.fermer();
+        return flux.getTrames();
+    }
+
+    private Path faux(String nom, long age) throws IOException {
+        Path fichier = Files.write(cache.resolve(nom), new byte[1000]);
+        Files.setLastModifiedTime(fichier, FileTime.fromMillis(System.currentTimeMillis() - age));
+        return fichier;
+    }
+
+    @Test
+    public void testPremierDecodageEnregistre() throws Exception {
+        assertTrue(trames() > 0);
+        assertEquals(1, fichiers("*.pcm").size());
+        assertTrue(fichiers("*.tmp").isEmpty());
+    }
+
+    @Test
+    public void testRelectureSansDecodage() throws Exception {
+        short[] attendu = FluxPCM.decoder(son.toString());
+        assertEquals(0, trames());
+        assertArrayEquals(attendu, FluxPCM.decoder(son.toString()));
+    }
+
+    @Test
+    public void testFichierModifieDecodeDeNouveau() throws Exception {
+        trames();
+        Files.setLastModifiedTime(son, FileTime.fromMillis(System.currentTimeMillis() - HEURE));
+        assertTrue(trames() > 0);
+        assertEquals(2, fichiers("*.pcm").size());
+    }
+
+    @Test
+    public void testMoinsRecemmentLuSupprime() throws Exception {
+        trames();
+        Path decode = fichiers("*.pcm").get(0);
+        long taille = Files.size(decode);
+        Files.delete(decode);
+        Path ancien = faux("ancien.pcm", 2 * HEURE);
+        Path recent = faux("recent.pcm", HEURE);
+        CachePCM.setTailleMax(taille + 1500);
+        trames();
+        assertFalse(Files.exists(ancien));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(decode));
+    }
+
+    @Test
+    public void testTemporairesAbandonnesSupprimes() throws Exception {
+        Files.createDirectories(cache);
+        Path abandonne = faux("abandonne.tmp", 2 * HEURE);
+        Path enCours = faux("encours.tmp", 0);
+        CachePCM.setDossier(cache);
+        trames();
+        assertFalse(Files.exists(abandonne));
+        assertTrue(Files.exists(enCours));
+    }
+}
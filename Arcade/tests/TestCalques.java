@@ -0,0 +1,149 @@
+package Arcade.tests;
+
+import MG2D.Calque;
+import MG2D.Couleur;
+import MG2D.Panneau;
+import MG2D.geometrie.Dessin;
+import MG2D.geometrie.Point;
+import MG2D.geometrie.Rectangle;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'ordre d'affichage et le décalage des calques de MG2D
+ */
+public class TestCalques {
+
+    private static final int TAILLE = 100;
+
+    private Panneau p;
+
+    @BeforeEach
+    public void setUp() {
+        p = new Panneau();
+        p.setSize(TAILLE, TAILLE);
+    }
+
+    private static List<String> noms(List<Calque> calques) {
+        List<String> noms = new ArrayList<String>();
+        for (Calque c : calques)
+            noms.add(c.getNom());
+        return noms;
+    }
+
+    /**
+     * Publie les formes, dessine la zone d'affichage dans une image et rend la couleur d'un pixel, y vers le haut comme dans MG2D.
+     */
+    private int pixel(int x, int y) {
+        p.publier();
+        BufferedImage image = new BufferedImage(TAILLE, TAILLE, BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        g.setClip(0, 0, TAILLE, TAILLE);
+        p.paint(g);
+        g.dispose();
+        return image.getRGB(x, TAILLE - 1 - y) & 0xFFFFFF;
+    }
+
+    private static int rgb(Couleur c) {
+        return c.getRGB() & 0xFFFFFF;
+    }
+
+    private static Rectangle carre(Couleur c, int cote) {
+        return new Rectangle(c, new Point(0, 0), new Point(cote, cote), true);
+    }
+
+    @Test
+    public void testOrdreParProfondeur() {
+        p.ajouterCalque("haut", 5);
+        p.ajouterCalque("fond", -1);
+        p.ajouterCalque("milieu", 2);
+        assertEquals(Arrays.asList("fond", Panneau.PRINCIPAL, "milieu", "haut"), noms(p.getCalques()));
+    }
+
+    @Test
+    public void testMemeProfondeurOrdreDeCreation() {
+        p.ajouterCalque("b", 1);
+        p.ajouterCalque("a", 1);
+        p.ajouterCalque("c", 1);
+        assertEquals(Arrays.asList(Panneau.PRINCIPAL, "b", "a", "c"), noms(p.getCalques()));
+    }
+
+    @Test
+    public void testChangementDeProfondeur() {
+        Calque haut = p.ajouterCalque("haut", 5);
+        Rectangle forme = carre(Couleur.BLEU, 10);
+        haut.ajouter(forme);
+        haut.setProfondeur(-5);
+        assertEquals(Arrays.asList("haut", Panneau.PRINCIPAL), noms(p.getCalques()));
+        // les formes du calque ne bougent pas
+        assertSame(forme, haut.getA().get(0));
+        // un calque existant est seulement déplacé par ajouterCalque
+        assertSame(haut, p.ajouterCalque("haut", 7));
+        assertEquals(Arrays.asList(Panneau.PRINCIPAL, "haut"), noms(p.getCalques()));
+    }
+
+    @Test
+    public void testGetASuitLOrdreDesCalques() {
+        Calque fond = p.ajouterCalque("fond", -1);
+        Dessin a = carre(Couleur.ROUGE, 10);
+        Dessin b = carre(Couleur.VERT, 10);
+        p.ajouter(a);
+        fond.ajouter(b);
+        List<Dessin> formes = p.getA();
+        assertSame(b, formes.get(0));
+        assertSame(a, formes.get(1));
+    }
+
+    @Test
+    public void testDessinParProfondeur() {
+        Calque fond = p.ajouterCalque("fond", -1);
+        Calque haut = p.ajouterCalque("haut", 5);
+        haut.ajouter(carre(Couleur.BLEU, 20));
+        p.ajouter(carre(Couleur.ROUGE, 20));
+        fond.ajouter(carre(Couleur.VERT, 50));
+        assertEquals(rgb(Couleur.BLEU), pixel(10, 10));
+        assertEquals(rgb(Couleur.VERT), pixel(40, 40));
+        haut.setProfondeur(-5);
+        assertEquals(rgb(Couleur.ROUGE), pixel(10, 10));
+    }
+
+    @Test
+    public void testDecalage() {
+        Calque fond = p.ajouterCalque("fond", -1);
+        fond.ajouter(carre(Couleur.VERT, 20));
+        fond.setDecalage(30, 40);
+        assertEquals(0, pixel(10, 10));
+        assertEquals(rgb(Couleur.VERT), pixel(40, 50));
+        fond.translater(-30, -40);
+        assertEquals(rgb(Couleur.VERT), pixel(10, 10));
+        assertEquals(0, fond.getDecalageX());
+    }
+
+    @Test
+    public void testSuppressionCalque() {
+        Calque fond = p.ajouterCalque("fond", -1);
+        fond.ajouter(carre(Couleur.VERT, 20));
+        p.supprimerCalque("fond");
+        assertNull(p.getCalque("fond"));
+        assertTrue(p.getA().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> p.supprimerCalque(Panneau.PRINCIPAL));
+    }
+
+    @Test
+    public void testEffacerGardeLesCalques() {
+        Calque fond = p.ajouterCalque("fond", 3);
+        fond.ajouter(carre(Couleur.VERT, 20));
+        fond.setDecalage(5, 5);
+        p.effacer();
+        assertTrue(p.getA().isEmpty());
+        assertSame(fond, p.getCalque("fond"));
+        assertEquals(3, fond.getProfondeur());
+        assertEquals(5, fond.getDecalageX());
+    }
+}
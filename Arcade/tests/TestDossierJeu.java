@@ -0,0 +1,50 @@
+package Arcade.tests;
+
+import Arcade.DossierJeu;
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la classe DossierJeu
+ */
+public class TestDossierJeu {
+
+    private static void definir(Path dossier) throws Exception {
+        // fixé par HoteJeu par réflexion, comme ici
+        Method definir = DossierJeu.class.getDeclaredMethod("definir", Path.class);
+        definir.setAccessible(true);
+        definir.invoke(null, dossier);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        definir(null);
+    }
+
+    @Test
+    public void testSansDossierCheminInchange() {
+        assertEquals(new File("highscore"), DossierJeu.fichier("highscore"));
+        assertEquals(Paths.get("").toAbsolutePath(), DossierJeu.getDossier());
+    }
+
+    @Test
+    public void testCheminRelatifResolu() throws Exception {
+        Path dossier = Paths.get("projet", "Pong").toAbsolutePath();
+        definir(dossier);
+        assertEquals(dossier.resolve("highscore").toFile(), DossierJeu.fichier("highscore"));
+        assertEquals(dossier.resolve("fonts/PrStart.ttf").toFile(), DossierJeu.fichier("fonts/PrStart.ttf"));
+        assertEquals(dossier, DossierJeu.getDossier());
+    }
+
+    @Test
+    public void testCheminAbsoluInchange() throws Exception {
+        definir(Paths.get("projet", "Pong").toAbsolutePath());
+        File absolu = new File("/home/pi/git/borne_arcade/fonts/PrStart.ttf").getAbsoluteFile();
+        assertEquals(absolu, DossierJeu.fichier(absolu.getPath()));
+    }
+}
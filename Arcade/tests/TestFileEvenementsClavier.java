@@ -0,0 +1,181 @@
+package Arcade.tests;
+
+import Arcade.ClavierBorneArcade;
+import Arcade.EtatClavier;
+import java.awt.event.KeyEvent;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import javax.swing.JPanel;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la file sans verrou des événements du clavier (FileEvenementsClavier)
+ */
+public class TestFileEvenementsClavier {
+
+    private static final Class<?> FILE;
+    private static final Constructor<?> CREER;
+    private static final Method DEPOSER;
+    private static final Method RETIRER;
+    private static final Method PERDUS;
+
+    static {
+        try {
+            FILE = Class.forName("Arcade.FileEvenementsClavier");
+            CREER = FILE.getDeclaredConstructor(int.class);
+            DEPOSER = FILE.getDeclaredMethod("deposer", int.class, long.class);
+            RETIRER = FILE.getDeclaredMethod("retirer", int[].class, long[].class);
+            PERDUS = FILE.getDeclaredMethod("getPerdus");
+            CREER.setAccessible(true);
+            DEPOSER.setAccessible(true);
+            RETIRER.setAccessible(true);
+            PERDUS.setAccessible(true);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Object file(int capacite) throws Exception {
+        return CREER.newInstance(capacite);
+    }
+
+    private static boolean deposer(Object file, int evenement, long instant) throws Exception {
+        return (Boolean) DEPOSER.invoke(file, evenement, instant);
+    }
+
+    private static int retirer(Object file, int[] evenements, long[] instants) throws Exception {
+        return (Integer) RETIRER.invoke(file, evenements, instants);
+    }
+
+    private static long perdus(Object file) throws Exception {
+        return (Long) PERDUS.invoke(file);
+    }
+
+    @Test
+    public void testOrdreConserve() throws Exception {
+        Object file = file(8);
+        for (int i = 0; i < 5; i++)
+            assertTrue(deposer(file, i, 100 + i));
+        int[] evenements = new int[8];
+        long[] instants = new long[8];
+        assertEquals(5, retirer(file, evenements, instants));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, evenements[i]);
+            assertEquals(100 + i, instants[i]);
+        }
+        assertEquals(0, retirer(file, evenements, instants));
+    }
+
+    @Test
+    public void testFilePleineCompteLesPerdus() throws Exception {
+        Object file = file(4);
+        for (int i = 0; i < 4; i++)
+            assertTrue(deposer(file, i, i));
+        assertFalse(deposer(file, 4, 4));
+        assertFalse(deposer(file, 5, 5));
+        assertEquals(2, perdus(file));
+        int[] evenements = new int[8];
+        assertEquals(4, retirer(file, evenements, new long[8]));
+        assertEquals(3, evenements[3]);
+    }
+
+    @Test
+    public void testCasesReutiliseesApresLecture() throws Exception {
+        Object file = file(4);
+        int[] evenements = new int[4];
+        long[] instants = new long[4];
+        for (int tour = 0; tour < 10; tour++) {
+            for (int i = 0; i < 3; i++)
+                assertTrue(deposer(file, 10 * tour + i, 0));
+            assertEquals(3, retirer(file, evenements, instants));
+            assertEquals(10 * tour + 2, evenements[2]);
+        }
+        assertEquals(0, perdus(file));
+    }
+
+    @Test
+    public void testRetraitLimiteAuTableau() throws Exception {
+        Object file = file(8);
+        for (int i = 0; i < 6; i++)
+            deposer(file, i, i);
+        int[] evenements = new int[4];
+        assertEquals(4, retirer(file, evenements, new long[4]));
+        assertEquals(2, retirer(file, evenements, new long[4]));
+        assertEquals(5, evenements[1]);
+    }
+
+    @Test
+    public void testCapaciteNonPuissanceDeDeux() {
+        InvocationTargetException e = assertThrows(InvocationTargetException.class, () -> file(6));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void testDepotsConcurrents() throws Exception {
+        final int fils = 4;
+        final int parFil = 20000;
+        Object file = file(64);
+        CountDownLatch depart = new CountDownLatch(1);
+        Thread[] producteurs = new Thread[fils];
+        for (int f = 0; f < fils; f++) {
+            final int numero = f;
+            producteurs[f] = new Thread(() -> {
+                try {
+                    depart.await();
+                    for (int i = 0; i < parFil; i++)
+                        deposer(file, numero << 24 | i, i);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            producteurs[f].start();
+        }
+        depart.countDown();
+        int[] dernier = { -1, -1, -1, -1 };
+        int[] evenements = new int[64];
+        long[] instants = new long[64];
+        long recus = 0;
+        boolean actifs = true;
+        while (actifs) {
+            actifs = false;
+            for (Thread producteur : producteurs)
+                actifs |= producteur.isAlive();
+            int n = retirer(file, evenements, instants);
+            for (int i = 0; i < n; i++) {
+                int f = evenements[i] >>> 24;
+                int valeur = evenements[i] & 0xFFFFFF;
+                // chaque producteur voit ses événements retirés dans l'ordre où il les a déposés
+                assertTrue(valeur > dernier[f], "ordre du fil " + f);
+                assertEquals(valeur, instants[i]);
+                dernier[f] = valeur;
+            }
+            recus += n;
+        }
+        recus += retirer(file, evenements, instants);
+        assertEquals((long) fils * parFil, recus + perdus(file));
+    }
+
+    @Test
+    public void testAppuiEtRelachementDansLaMemeImage() {
+        ClavierBorneArcade clavier = new ClavierBorneArcade();
+        JPanel source = new JPanel();
+        clavier.lireEtat();
+        clavier.keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_Q, 'q'));
+        // la répétition automatique n'est pas un nouvel appui
+        clavier.keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, KeyEvent.VK_Q, 'q'));
+        clavier.keyReleased(new KeyEvent(source, KeyEvent.KEY_RELEASED, 0, 0, KeyEvent.VK_Q, 'q'));
+        EtatClavier etat = clavier.lireEtat();
+        assertFalse(etat.estEnfoncee(ClavierBorneArcade.J2_A));
+        assertTrue(etat.aEteAppuyee(ClavierBorneArcade.J2_A));
+        assertTrue(etat.aEteRelachee(ClavierBorneArcade.J2_A));
+        assertEquals(2, etat.getNombreEvenements());
+        assertEquals(ClavierBorneArcade.J2_A, etat.getTouche(0));
+        assertTrue(etat.estAppui(0));
+        assertFalse(etat.estAppui(1));
+        assertTrue(etat.getInstant(0) <= etat.getInstant(1));
+        assertEquals(0, clavier.lireEtat().getNombreEvenements());
+    }
+}
@@ -0,0 +1,103 @@
+package Arcade.tests;
+
+import Arcade.ClavierBorneArcade;
+import java.awt.event.KeyEvent;
+import javax.swing.JPanel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour l'état des touches lu d'un coup par ClavierBorneArcade.instantane()
+ */
+public class TestInstantaneClavier {
+
+    private ClavierBorneArcade clavier;
+    private final JPanel source = new JPanel();
+
+    @BeforeEach
+    public void setUp() {
+        clavier = new ClavierBorneArcade();
+    }
+
+    private void appuyer(int code) {
+        clavier.keyPressed(new KeyEvent(source, KeyEvent.KEY_PRESSED, 0, 0, code, KeyEvent.CHAR_UNDEFINED));
+    }
+
+    private void relacher(int code) {
+        clavier.keyReleased(new KeyEvent(source, KeyEvent.KEY_RELEASED, 0, 0, code, KeyEvent.CHAR_UNDEFINED));
+    }
+
+    @Test
+    public void testConstantesStables() {
+        assertEquals(0, ClavierBorneArcade.J1_GAUCHE);
+        assertEquals(9, ClavierBorneArcade.J1_Z);
+        assertEquals(10, ClavierBorneArcade.J2_GAUCHE);
+        assertEquals(14, ClavierBorneArcade.J2_A);
+        assertEquals(19, ClavierBorneArcade.J2_Z);
+    }
+
+    @Test
+    public void testToucheEnfonceeEtAppuyee() {
+        appuyer(KeyEvent.VK_UP);
+        long touches = clavier.instantane();
+        assertTrue(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_HAUT));
+        assertTrue(ClavierBorneArcade.estAppuyee(touches, ClavierBorneArcade.J1_HAUT));
+        assertFalse(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_BAS));
+    }
+
+    @Test
+    public void testAppuiOublieApresLecture() {
+        appuyer(KeyEvent.VK_F);
+        clavier.instantane();
+        long touches = clavier.instantane();
+        assertTrue(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_A));
+        assertFalse(ClavierBorneArcade.estAppuyee(touches, ClavierBorneArcade.J1_A));
+    }
+
+    @Test
+    public void testAppuiBrefGarde() {
+        appuyer(KeyEvent.VK_G);
+        relacher(KeyEvent.VK_G);
+        long touches = clavier.instantane();
+        assertFalse(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_B));
+        assertTrue(ClavierBorneArcade.estAppuyee(touches, ClavierBorneArcade.J1_B));
+    }
+
+    @Test
+    public void testJoueursSepares() {
+        appuyer(KeyEvent.VK_Q);
+        appuyer(KeyEvent.VK_F);
+        relacher(KeyEvent.VK_F);
+        long touches = clavier.instantane();
+        assertTrue(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J2_A));
+        assertFalse(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_A));
+        assertEquals(0, ClavierBorneArcade.enfonceesJoueur(touches, 1));
+        assertEquals(1 << ClavierBorneArcade.J1_A, ClavierBorneArcade.enfonceesJoueur(touches, 2));
+        assertEquals(1 << ClavierBorneArcade.J1_A, ClavierBorneArcade.appuyeesJoueur(touches, 1));
+        assertEquals(1 << ClavierBorneArcade.J1_A, ClavierBorneArcade.appuyeesJoueur(touches, 2));
+    }
+
+    @Test
+    public void testToutesLesTouchesDistinctes() {
+        int[] codes = { KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_F, KeyEvent.VK_G, KeyEvent.VK_H, KeyEvent.VK_R, KeyEvent.VK_T, KeyEvent.VK_Y,
+                        KeyEvent.VK_K, KeyEvent.VK_M, KeyEvent.VK_O, KeyEvent.VK_L, KeyEvent.VK_Q, KeyEvent.VK_S, KeyEvent.VK_D, KeyEvent.VK_A, KeyEvent.VK_Z, KeyEvent.VK_E };
+        for (int touche = 0; touche < codes.length; touche++) {
+            clavier.reinitialisation();
+            appuyer(codes[touche]);
+            long touches = clavier.instantane();
+            for (int autre = 0; autre < codes.length; autre++)
+                assertEquals(autre == touche, ClavierBorneArcade.estEnfoncee(touches, autre), "touche " + touche + ", " + autre);
+            assertTrue(clavier.toucheEnfoncee(touche));
+        }
+    }
+
+    @Test
+    public void testCompatibiliteTape() {
+        appuyer(KeyEvent.VK_E);
+        assertTrue(clavier.getBoutonJ2ZEnfoncee());
+        relacher(KeyEvent.VK_E);
+        assertTrue(clavier.getBoutonJ2ZTape());
+        assertFalse(clavier.getBoutonJ2ZTape());
+    }
+}
@@ -0,0 +1,79 @@
+package Arcade.tests;
+
+import MG2D.audio.Canal;
+import MG2D.audio.CanalFlux;
+import MG2D.audio.Mixeur;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour le mélange des voies du Mixeur de MG2D
+ */
+public class TestMixeur {
+
+    private static final int TRAMES = 4;
+
+    /**
+     * Mélange un bloc des voies, sans ouvrir la sortie audio, et rend les échantillons 16 bits obtenus.
+     */
+    private static short[] melanger(Canal... canaux) throws Exception {
+        Method melanger = Mixeur.class.getDeclaredMethod("melanger", List.class, int[].class, byte[].class);
+        melanger.setAccessible(true);
+        int[] bloc = new int[TRAMES * 2];
+        byte[] octets = new byte[bloc.length * 2];
+        melanger.invoke(null, Arrays.asList(canaux), bloc, octets);
+        short[] sortie = new short[bloc.length];
+        for (int i = 0; i < sortie.length; i++)
+            sortie[i] = (short) (octets[2 * i] & 0xFF | octets[2 * i + 1] << 8);
+        return sortie;
+    }
+
+    private static CanalFlux voie(short... echantillons) throws Exception {
+        CanalFlux voie = new CanalFlux(64);
+        voie.ecrire(echantillons, 0, echantillons.length);
+        return voie;
+    }
+
+    @Test
+    public void testVoieSeule() throws Exception {
+        short[] sortie = melanger(voie((short) 1, (short) -1, (short) 1000, (short) -1000, (short) 32767, (short) -32768, (short) 0, (short) 5));
+        assertArrayEquals(new short[] { 1, -1, 1000, -1000, 32767, -32768, 0, 5 }, sortie);
+    }
+
+    @Test
+    public void testVoiesAdditionnees() throws Exception {
+        short[] sortie = melanger(voie((short) 100, (short) -200, (short) 300, (short) 0, (short) 0, (short) 0, (short) 0, (short) 0),
+                voie((short) 10, (short) 20, (short) -300, (short) 0, (short) 0, (short) 0, (short) 0, (short) 0));
+        assertArrayEquals(new short[] { 110, -180, 0, 0, 0, 0, 0, 0 }, sortie);
+    }
+
+    @Test
+    public void testEcretage() throws Exception {
+        short[] sortie = melanger(voie((short) 30000, (short) -30000, (short) 20000, (short) -20000, (short) 0, (short) 0, (short) 0, (short) 0),
+                voie((short) 30000, (short) -30000, (short) 20000, (short) -20000, (short) 0, (short) 0, (short) 0, (short) 0));
+        assertArrayEquals(new short[] { 32767, -32768, 32767, -32768, 0, 0, 0, 0 }, sortie);
+    }
+
+    @Test
+    public void testVolume() throws Exception {
+        CanalFlux voie = voie((short) 1000, (short) -1000, (short) 0, (short) 0, (short) 0, (short) 0, (short) 0, (short) 0);
+        voie.setVolume(0.5f);
+        assertArrayEquals(new short[] { 500, -500, 0, 0, 0, 0, 0, 0 }, melanger(voie));
+    }
+
+    @Test
+    public void testVoieVideSilencieuse() throws Exception {
+        CanalFlux voie = new CanalFlux(64);
+        assertArrayEquals(new short[TRAMES * 2], melanger(voie));
+    }
+
+    @Test
+    public void testVoieConsommee() throws Exception {
+        CanalFlux voie = voie(new short[TRAMES * 2 + 2]);
+        melanger(voie);
+        assertEquals(2, voie.getTaille());
+    }
+}
@@ -0,0 +1,70 @@
+package Arcade.tests;
+
+import MG2D.audio.FluxPCM;
+import MG2D.audio.Reechantillonneur;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la conversion PCM de MG2D (Reechantillonneur)
+ */
+public class TestReechantillonneur {
+
+    private Reechantillonneur conversion;
+
+    @BeforeEach
+    public void setUp() {
+        conversion = new Reechantillonneur();
+    }
+
+    private short[] convertir(short[] entree, int canaux, int frequence) {
+        int trames = entree.length / canaux;
+        short[] sortie = new short[Reechantillonneur.taille(trames, frequence)];
+        int n = conversion.convertir(entree, trames, canaux, frequence, sortie);
+        return Arrays.copyOf(sortie, n);
+    }
+
+    @Test
+    public void testMemeFormatInchange() {
+        short[] entree = { 1, -1, 100, -100, 3000, -3000, 32767, -32768 };
+        assertArrayEquals(entree, convertir(entree, 2, FluxPCM.FREQUENCE));
+    }
+
+    @Test
+    public void testMonoDuplique() {
+        short[] sortie = convertir(new short[] { 10, 20, 30 }, 1, FluxPCM.FREQUENCE);
+        assertArrayEquals(new short[] { 10, 10, 20, 20, 30, 30 }, sortie);
+    }
+
+    @Test
+    public void testDoubleFrequenceInterpole() {
+        // 24 kHz vers 48 kHz : une trame interpolée entre deux trames d'entrée
+        short[] sortie = convertir(new short[] { 0, 100, 200 }, 1, FluxPCM.FREQUENCE / 2);
+        assertArrayEquals(new short[] { 0, 0, 50, 50, 100, 100, 150, 150, 200, 200 }, sortie);
+    }
+
+    @Test
+    public void testDureeConservee() {
+        // une seconde à 44,1 kHz donne une seconde à 48 kHz, à une trame près
+        short[] entree = new short[44100 * 2];
+        int trames = convertir(entree, 2, 44100).length / FluxPCM.CANAUX;
+        assertTrue(Math.abs(trames - FluxPCM.FREQUENCE) <= 1, "trames : " + trames);
+    }
+
+    @Test
+    public void testBlocsSuccessifsSansDiscontinuite() {
+        short[] entree = new short[2 * 1152];
+        for (int i = 0; i < entree.length; i++)
+            entree[i] = (short) (10000 * Math.sin(i / 40.0));
+        short[] dUnCoup = convertir(entree, 1, 44100);
+
+        conversion.reinitialiser();
+        short[] a = convertir(Arrays.copyOfRange(entree, 0, 1152), 1, 44100);
+        short[] b = convertir(Arrays.copyOfRange(entree, 1152, entree.length), 1, 44100);
+        short[] enDeux = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, enDeux, a.length, b.length);
+        assertArrayEquals(dUnCoup, enDeux);
+    }
+}
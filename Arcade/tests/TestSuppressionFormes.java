@@ -0,0 +1,123 @@
+package Arcade.tests;
+
+import MG2D.Calque;
+import MG2D.Panneau;
+import MG2D.geometrie.Dessin;
+import MG2D.geometrie.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests unitaires pour la suppression des formes par identité dans Panneau et Calque de MG2D
+ */
+public class TestSuppressionFormes {
+
+    private static void assertMemesFormes(List<Dessin> attendu, List<Dessin> obtenu) {
+        assertEquals(attendu.size(), obtenu.size());
+        for (int i = 0; i < attendu.size(); i++)
+            assertSame(attendu.get(i), obtenu.get(i), "forme " + i);
+    }
+
+    @Test
+    public void testFormeEgaleNonSupprimee() {
+        Panneau p = new Panneau();
+        Point a = new Point(0, 0);
+        Point b = new Point(0, 0);
+        assertEquals(a, b);
+        p.ajouter(a);
+        p.ajouter(b);
+        p.supprimer(b);
+        assertMemesFormes(Arrays.asList(a), p.getA());
+    }
+
+    @Test
+    public void testOrdreConserve() {
+        Panneau p = new Panneau();
+        Point[] formes = new Point[5];
+        for (int i = 0; i < formes.length; i++) {
+            formes[i] = new Point(i, i);
+            p.ajouter(formes[i]);
+        }
+        p.supprimer(formes[1]);
+        p.supprimer(formes[3]);
+        assertMemesFormes(Arrays.asList(formes[0], formes[2], formes[4]), p.getA());
+    }
+
+    @Test
+    public void testAjoutMultipleSupprimeLePremier() {
+        Panneau p = new Panneau();
+        Point a = new Point(1, 1);
+        Point b = new Point(2, 2);
+        p.ajouter(a);
+        p.ajouter(b);
+        p.ajouter(a);
+        p.supprimer(a);
+        assertMemesFormes(Arrays.asList(b, a), p.getA());
+        p.supprimer(a);
+        assertMemesFormes(Arrays.asList(b), p.getA());
+    }
+
+    @Test
+    public void testSuppressionFormeAbsente() {
+        Panneau p = new Panneau();
+        Point a = new Point(1, 1);
+        p.ajouter(a);
+        p.supprimer(new Point(1, 1));
+        p.supprimer(a);
+        p.supprimer(a);
+        assertTrue(p.getA().isEmpty());
+    }
+
+    @Test
+    public void testCalque() {
+        Panneau p = new Panneau();
+        Calque c = p.ajouterCalque("decor", 1);
+        Point a = new Point(0, 0);
+        Point b = new Point(0, 0);
+        c.ajouter(a);
+        c.ajouter(b);
+        c.ajouter(a);
+        c.supprimer(a);
+        assertMemesFormes(Arrays.asList(b, a), c.getA());
+        assertEquals(2, c.getNbDessins());
+        c.effacer();
+        assertEquals(0, c.getNbDessins());
+        c.ajouter(b);
+        assertMemesFormes(Arrays.asList(b), c.getA());
+    }
+
+    @Test
+    public void testCommeUneListeParIdentite() {
+        // suite aléatoire d'ajouts, de suppressions et de rafraichissements comparée à une liste
+        Random hasard = new Random(1);
+        Panneau p = new Panneau();
+        List<Dessin> reference = new ArrayList<Dessin>();
+        Dessin[] formes = new Dessin[40];
+        for (int i = 0; i < formes.length; i++)
+            formes[i] = new Point(i % 4, 0);
+        for (int etape = 0; etape < 20000; etape++) {
+            Dessin d = formes[hasard.nextInt(formes.length)];
+            if (hasard.nextInt(10) < 5) {
+                p.ajouter(d);
+                reference.add(d);
+            } else {
+                p.supprimer(d);
+                for (int i = 0; i < reference.size(); i++) {
+                    if (reference.get(i) == d) {
+                        reference.remove(i);
+                        break;
+                    }
+                }
+            }
+            if (etape % 7 == 0)
+                p.publier();
+            if (etape % 97 == 0)
+                assertMemesFormes(reference, p.getA());
+        }
+        assertMemesFormes(reference, p.getA());
+    }
+}
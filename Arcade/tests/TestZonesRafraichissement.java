@@ -0,0 +1,217 @@
+package Arcade.tests;
+
+import MG2D.Calque;
+import MG2D.Panneau;
+import MG2D.geometrie.BoiteEnglobante;
+import MG2D.geometrie.Carre;
+import MG2D.geometrie.Cercle;
+import MG2D.geometrie.Dessin;
+import MG2D.geometrie.Ligne;
+import MG2D.geometrie.Ovale;
+import MG2D.geometrie.Point;
+import MG2D.geometrie.Rectangle;
+import MG2D.geometrie.Texte;
+import MG2D.geometrie.Triangle;
+import java.awt.Font;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests unitaires pour les zones redessinées par la zone d'affichage de MG2D (Panneau) et les boites d'affichage des formes
+ */
+public class TestZonesRafraichissement {
+
+    private static final int TAILLE = 400;
+    // Marge ajoutée par Panneau autour de chaque boite
+    private static final int MARGE = 4;
+
+    private Panneau p;
+
+    @BeforeEach
+    public void setUp() {
+        p = new Panneau();
+        p.setSize(TAILLE, TAILLE);
+        p.setSeuilRafraichissement(0.5);
+    }
+
+    /**
+     * Publie les formes et rend les zones à redessiner, dans le repère de Swing.
+     */
+    private java.awt.Rectangle[] publier() throws Exception {
+        p.publier();
+        Method zones = Panneau.class.getDeclaredMethod("getZones");
+        zones.setAccessible(true);
+        return (java.awt.Rectangle[]) zones.invoke(p);
+    }
+
+    /**
+     * Zone d'une boite de MG2D (x et y min, x et y max) dans le repère de Swing, marge comprise.
+     */
+    private static java.awt.Rectangle zone(int x1, int y1, int x2, int y2) {
+        return new java.awt.Rectangle(x1 - MARGE, TAILLE - y2 - MARGE, x2 - x1 + 2 * MARGE, y2 - y1 + 2 * MARGE);
+    }
+
+    private static Rectangle carre(int x, int y) {
+        return new Rectangle(new Point(x, y), new Point(x + 10, y + 10), true);
+    }
+
+    @Test
+    public void testPremierRafraichissementComplet() throws Exception {
+        p.ajouter(carre(10, 10));
+        assertNull(publier());
+    }
+
+    @Test
+    public void testImageInchangeeSansZone() throws Exception {
+        p.ajouter(carre(10, 10));
+        publier();
+        assertEquals(0, publier().length);
+    }
+
+    @Test
+    public void testDeplacementRedessineAvantEtApres() throws Exception {
+        Rectangle r = carre(10, 10);
+        p.ajouter(r);
+        publier();
+        r.translater(200, 0);
+        java.awt.Rectangle[] zones = publier();
+        assertEquals(2, zones.length);
+        assertTrue(contient(zones, zone(10, 10, 20, 20)));
+        assertTrue(contient(zones, zone(210, 10, 220, 20)));
+    }
+
+    @Test
+    public void testZonesQuiSeTouchentReunies() throws Exception {
+        Rectangle r = carre(10, 10);
+        p.ajouter(r);
+        publier();
+        r.translater(5, 0);
+        java.awt.Rectangle[] zones = publier();
+        assertEquals(1, zones.length);
+        assertEquals(zone(10, 10, 25, 20), zones[0]);
+    }
+
+    @Test
+    public void testZonesDisjointesNeSeRecouvrentPas() throws Exception {
+        Rectangle[] formes = new Rectangle[6];
+        for (int i = 0; i < formes.length; i++) {
+            formes[i] = carre(20 + 30 * i, 20 + 30 * i % 120);
+            p.ajouter(formes[i]);
+        }
+        publier();
+        for (Rectangle r : formes)
+            r.translater(7, 3);
+        java.awt.Rectangle[] zones = publier();
+        // aucun pixel n'est dessiné deux fois
+        for (int i = 0; i < zones.length; i++)
+            for (int j = i + 1; j < zones.length; j++)
+                assertFalse(zones[i].intersects(zones[j]), zones[i] + " " + zones[j]);
+        for (Rectangle r : formes) {
+            BoiteEnglobante b = r.getBoiteEnglobante();
+            assertTrue(couvre(zones, zone(b.getMin().getX(), b.getMin().getY(), b.getMax().getX(), b.getMax().getY())));
+        }
+    }
+
+    @Test
+    public void testSuppressionRedessineLaZone() throws Exception {
+        Rectangle r = carre(50, 50);
+        p.ajouter(r);
+        publier();
+        p.supprimer(r);
+        java.awt.Rectangle[] zones = publier();
+        assertEquals(1, zones.length);
+        assertEquals(zone(50, 50, 60, 60), zones[0]);
+    }
+
+    @Test
+    public void testDecalageDuCalque() throws Exception {
+        Calque c = p.ajouterCalque("decor", 1);
+        c.ajouter(carre(10, 10));
+        publier();
+        c.setDecalage(100, 0);
+        java.awt.Rectangle[] zones = publier();
+        assertTrue(contient(zones, zone(110, 10, 120, 20)));
+    }
+
+    @Test
+    public void testSeuilDepasseToutRedessiner() throws Exception {
+        Rectangle r = new Rectangle(new Point(0, 0), new Point(300, 300), true);
+        p.ajouter(r);
+        publier();
+        r.translater(1, 0);
+        assertNull(publier());
+    }
+
+    @Test
+    public void testBoitesSansAllocationIdentiques() {
+        Font police = new Font("Dialog", Font.PLAIN, 20);
+        Dessin[] formes = {
+            new Point(3, 4),
+            new Ligne(new Point(10, 20), new Point(30, 5)),
+            new Rectangle(new Point(1, 2), new Point(30, 40)),
+            new Carre(new Point(5, 5), 12),
+            new Ovale(new Point(50, 50), 21, 11),
+            new Cercle(new Point(70, 30), 9),
+            new Triangle(new Point(0, 0), new Point(20, 5), new Point(8, 30)),
+            new Texte("MG2D", police, new Point(100, 100)),
+            new Texte("MG2D", police, new Point(100, 100), Texte.GAUCHE)
+        };
+        for (Dessin d : formes) {
+            int[] boite = new int[6];
+            assertTrue(d.copierBoiteAffichage(boite, 2));
+            BoiteEnglobante b = d.getBoiteAffichage();
+            int x1 = b.getMin().getX(), x2 = b.getMax().getX(), y1 = b.getMin().getY(), y2 = b.getMax().getY();
+            assertArrayEquals(new int[] { Math.min(x1, x2), Math.min(y1, y2), Math.max(x1, x2), Math.max(y1, y2) },
+                              new int[] { boite[2], boite[3], boite[4], boite[5] }, d.getClass().getSimpleName());
+        }
+    }
+
+    @Test
+    public void testBoiteRedefinieRespectee() {
+        Rectangle r = new Rectangle(new Point(0, 0), new Point(10, 10)) {
+            public BoiteEnglobante getBoiteAffichage() {
+                return new BoiteEnglobante(new Point(-5, -5), new Point(15, 15));
+            }
+        };
+        int[] boite = new int[4];
+        assertTrue(r.copierBoiteAffichage(boite, 0));
+        assertArrayEquals(new int[] { -5, -5, 15, 15 }, boite);
+    }
+
+    @Test
+    public void testPublierSansObjetParForme() throws Exception {
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        assumeTrue(mx instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean mesure = (com.sun.management.ThreadMXBean) mx;
+        assumeTrue(mesure.isThreadAllocatedMemorySupported() && mesure.isThreadAllocatedMemoryEnabled());
+        final int formes = 2000;
+        for (int i = 0; i < formes; i++)
+            p.ajouter(carre(i % 390, i / 10));
+        for (int i = 0; i < 50; i++)
+            publier();
+        long tid = Thread.currentThread().getId();
+        long avant = mesure.getThreadAllocatedBytes(tid);
+        p.publier();
+        long octets = mesure.getThreadAllocatedBytes(tid) - avant;
+        // la copie des formes et le tableau des boites, moins d'un petit objet par forme
+        assertTrue(octets < formes * 28L, octets + " octets pour " + formes + " formes");
+    }
+
+    private static boolean contient(java.awt.Rectangle[] zones, java.awt.Rectangle r) {
+        for (java.awt.Rectangle z : zones)
+            if (z.equals(r))
+                return true;
+        return false;
+    }
+
+    private static boolean couvre(java.awt.Rectangle[] zones, java.awt.Rectangle r) {
+        for (java.awt.Rectangle z : zones)
+            if (z.contains(r))
+                return true;
+        return false;
+    }
+}
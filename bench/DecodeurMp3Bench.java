@@ -0,0 +1,84 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import MG2D.audio.decoder.Bitstream;
+import MG2D.audio.decoder.Decoder;
+import MG2D.audio.decoder.Header;
+import MG2D.audio.decoder.JavaLayerException;
+import MG2D.audio.decoder.Obuffer;
+
+/**
+ * Mesure du décodeur mp3 de MG2D sur des fichiers de la borne.
+ * <p>
+ * {@link #trame()} décode une trame par opération : le débit est donné en trames décodées
+ * par seconde et, avec {@code -prof gc}, {@code gc.alloc.rate.norm} donne les octets alloués
+ * par trame. Le fichier est relu depuis le début, avec un nouveau décodeur, quand il est
+ * terminé ; pour les bruitages de quelques trames, ce retour au début compte donc dans la
+ * mesure.
+ * <p>
+ * {@link #ouverture()} mesure l'ouverture d'un fichier et le décodage de sa première trame,
+ * coût payé à chaque {@code new Bruitage(...)} et à chaque boucle d'une {@code Musique}.
+ * <p>
+ * Les chemins sont relatifs à la racine du dépôt ; lancer avec {@code bench/bench.sh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeurMp3Bench {
+
+    @Param({ "sound/bg/Z_A.mp3", "sound/bg/Battle-Sinnoh.mp3", "projet/Columns/sounds/music/Clotho.mp3",
+            "sound/bip.mp3", "projet/Columns/sounds/chute.mp3", "projet/Minesweeper/sounds/select.mp3" })
+    public String fichier;
+
+    private byte[] mp3;
+    private Bitstream bitstream;
+    private Decoder decoder;
+
+    @Setup(Level.Trial)
+    public void charger() throws IOException {
+        mp3 = Files.readAllBytes(Paths.get(fichier));
+        bitstream = new Bitstream(new ByteArrayInputStream(mp3));
+        decoder = new Decoder();
+    }
+
+    @Benchmark
+    public Obuffer trame() throws JavaLayerException {
+        Header entete = bitstream.readFrame();
+        if (entete == null) {
+            // le réservoir de bits du décodeur ne vaut que pour le flux qu'il a lu
+            bitstream = new Bitstream(new ByteArrayInputStream(mp3));
+            decoder = new Decoder();
+            entete = bitstream.readFrame();
+        }
+        Obuffer sortie = decoder.decodeFrame(entete, bitstream);
+        bitstream.closeFrame();
+        return sortie;
+    }
+
+    @Benchmark
+    public Obuffer ouverture() throws JavaLayerException {
+        Bitstream flux = new Bitstream(new ByteArrayInputStream(mp3));
+        Obuffer sortie = new Decoder().decodeFrame(flux.readFrame(), flux);
+        flux.closeFrame();
+        return sortie;
+    }
+}
@@ -0,0 +1,46 @@
+#!/bin/bash
+
+# Mesure du décodeur mp3 de MG2D avec JMH.
+# Usage, depuis la racine du dépôt : ./bench/bench.sh [options JMH]
+# Par défaut, le profileur gc est activé pour donner les octets alloués par trame.
+
+BOLD='\033[1m'
+CYAN='\033[0;36m'
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m'
+
+CHECK="[${GREEN}✓${NC}]"
+ERROR="[${RED}✗${NC}]"
+
+JMH_VERSION=1.37
+DEPOT=https://repo1.maven.org/maven2
+LIB=bench/lib
+CLASSES=bench/classes
+
+error_exit() {
+    echo -e "${ERROR} $1"
+    exit 1
+}
+
+echo -e "${BOLD}${CYAN}Banc d'essai du décodeur mp3${NC}"
+
+mkdir -p "$LIB" "$CLASSES"
+for jar in \
+    org/openjdk/jmh/jmh-core/$JMH_VERSION/jmh-core-$JMH_VERSION.jar \
+    org/openjdk/jmh/jmh-generator-annprocess/$JMH_VERSION/jmh-generator-annprocess-$JMH_VERSION.jar \
+    net/sf/jopt-simple/jopt-simple/5.0.4/jopt-simple-5.0.4.jar \
+    org/apache/commons/commons-math3/3.6.1/commons-math3-3.6.1.jar; do
+    if [ ! -f "$LIB/$(basename $jar)" ]; then
+        curl -sfL -o "$LIB/$(basename $jar)" "$DEPOT/$jar" || error_exit "Téléchargement de $(basename $jar) impossible"
+    fi
+done
+echo -e "${CHECK} JMH $JMH_VERSION"
+
+javac -encoding UTF-8 -cp "$LIB/*:./MG2D.jar" -d "$CLASSES" bench/*.java || error_exit "Échec compilation du banc d'essai"
+echo -e "${CHECK} Compilation"
+
+if [ $# -eq 0 ]; then
+    set -- -prof gc
+fi
+java -cp "$CLASSES:$LIB/*:./MG2D.jar" org.openjdk.jmh.Main DecodeurMp3Bench "$@"
@@ -1,9 +1,11 @@
 import MG2D.Fenetre;
-import MG2D.audio.Bruitage;
+import MG2D.audio.BanqueSons;
+import MG2D.audio.Musique;
 import MG2D.geometrie.Dessin;
 import MG2D.geometrie.Point;
 import MG2D.geometrie.Texture;
 
+import java.io.IOException;
 import java.util.ArrayList;
 
 public class Partie {
@@ -61,21 +63,15 @@ public class Partie {
 
     private Texture bg;
 
-    Bruitage mus;           //0
-    Bruitage sonChute;      //1
-    Bruitage sonSuppr1;     //2
-    Bruitage sonSuppr2;     //3
-    Bruitage sonSuppr3;     //4
-    Bruitage sonSuppr4;     //5
-    Bruitage sonSuppr5;     //6
-    Bruitage sonSwitch;     //7
-    Bruitage sonGameOver;   //8
-    Bruitage sonLevel;      //9
-    Bruitage sonStart;      //10
-
-    private int tempsJoue[];
-    private int tempsMax[];
-    private boolean enLecture[];
+    //Musique jouée en boucle pendant le jeu, ouverte une fois pour toutes les parties
+    private static Musique musique;
+
+    //Bruitages, décodés une fois pour toutes les parties : numéro du son dans la banque (-1 si illisible) et dernière lecture
+    private static BanqueSons sons;
+    private static int idSons[];
+    private int lectures[];
+    //Vrai quand le son de départ est fini, mis à jour par le mixeur
+    private volatile boolean introFinie;
 
     private boolean sonChuteJoue;
 
@@ -114,29 +110,12 @@ public class Partie {
         this.bg = new Texture("img/game/bg.png",new Point());
         f.ajouter(this.bg);
 
-        mus=new Bruitage("sounds/music/Clotho.mp3");
-        this.sonChute=new Bruitage("sounds/chute.mp3");
-        this.sonSwitch=new Bruitage("sounds/switch.mp3");
-        this.sonSuppr1=new Bruitage("sounds/suppr1.mp3");
-        this.sonSuppr2=new Bruitage("sounds/suppr2.mp3");
-        this.sonSuppr3=new Bruitage("sounds/suppr3.mp3");
-        this.sonSuppr4=new Bruitage("sounds/suppr4.mp3");
-        this.sonSuppr5=new Bruitage("sounds/suppr5.mp3");
-        this.sonGameOver=new Bruitage("sounds/gameover.mp3");
-        this.sonLevel=new Bruitage("sounds/level.mp3");
-        this.sonStart=new Bruitage("sounds/start.mp3");
-
+        chargerSons();
         this.sonChuteJoue=false;
 
-
-        this.tempsMax= new int[]{100000, 1600, 950, 950, 950, 950, 950, 260, 195, 860, 5400};     //temps en ms
-        //this.tempsMax= new int[]{122000, 1600, 950, 950, 950, 950, 950, 260, 195, 860, 6181};     //temps en ms
-
-        this.tempsJoue=new int[NBSONS];
-        this.enLecture=new boolean[NBSONS];
+        this.lectures=new int[NBSONS];
         for(int i=0;i<NBSONS;i++){
-            this.tempsJoue[i]=0;
-            this.enLecture[i]=false;
+            this.lectures[i]=-1;
         }
 
         f.rafraichir();
@@ -146,15 +125,6 @@ public class Partie {
 
 
 
-        //Parcours de tous les sons
-        for(int i=0;i<NBSONS;i++){
-            this.arretSon(i);
-        }
-        if(enLecture[NUMMUSIQUE]==false && (this.statut1==JEU || this.statut2==JEU)){
-            System.out.println("ON REJOUE LA MUSIQUE");
-            this.jouerSon(NUMMUSIQUE);
-        }
-
         /*(
         try{
 
@@ -176,9 +146,7 @@ public class Partie {
         f.rafraichir();
         boolean res=this.statut1==GAMEOVER && this.statut2==GAMEOVER;
             if(res){
-                try{
-                    this.mus.arret();
-                }catch(Exception e){}
+                musique.arret();
             }
 
         return res;
@@ -224,7 +192,7 @@ public class Partie {
                 //statut =JEU;
                 break;
             case INTRO:
-                if(this.enLecture[NUMSTART]==false) {
+                if(this.introFinie) {
                     statut = JEU;
                     this.jouerSon(NUMMUSIQUE);
                 }
@@ -395,104 +363,47 @@ public class Partie {
     }
 
 
-    //TODO: FONCTION JOUER SON!!!
-    //TODO: si un son doit jouer alors qu'il est en lecture, alors on arrête le précédent pour jouer le nouveau!
+    private static void chargerSons(){
+        if(sons!=null)
+            return;
+        musique=new Musique("sounds/music/Clotho.mp3");
+        musique.precharger("sounds/music/Clotho.mp3");
+        sons=new BanqueSons(6);
+        idSons=new int[NBSONS];
+        String fichiers[]={null, "chute", "suppr1", "suppr2", "suppr3", "suppr4", "suppr5", "switch", null, "level", "start"};
+        for(int i=0;i<NBSONS;i++){
+            idSons[i]=-1;
+            if(fichiers[i]==null)
+                continue;
+            try{
+                idSons[i]=sons.charger("sounds/"+fichiers[i]+".mp3");
+            }catch(IOException e){System.out.println("Echec du chargement ! "+e.getMessage());}
+        }
+    }
+
+    //Un son joué alors qu'il est encore en lecture arrête le précédent
     public void arretSon(int i){
-        if(this.enLecture[i]){
-            if(this.tempsJoue[i]>=this.tempsMax[i]){
-                this.enLecture[i]=false;
-                this.tempsJoue[i]=0;
-                try{
-                    switch(i){
-                        case NUMMUSIQUE:
-                            this.mus.arret();
-                            break;
-                        case NUMSWITCH:
-                            this.sonSwitch.arret();
-                            break;
-                        case NUMCHUTE:
-                            this.sonChute.arret();
-                            break;
-                        case NUMSUPPR1:
-                            this.sonSuppr1.arret();
-                            break;
-                        case NUMSUPPR2:
-                            this.sonSuppr2.arret();
-                            break;
-                        case NUMSUPPR3:
-                            this.sonSuppr3.arret();
-                            break;
-                        case NUMSUPPR4:
-                            this.sonSuppr4.arret();
-                            break;
-                        case NUMSUPPR5:
-                            this.sonSuppr5.arret();
-                            break;
-                        case NUMSTART:
-                            this.sonStart.arret();
-                            break;
-                        case NUMLEVEL:
-                            this.sonLevel.arret();
-                            break;
-                    }
-                }catch (Exception e){System.out.println("Echec de l'arret! "+e.getMessage());}
-            }
-            this.tempsJoue[i]+= Columns.pasTemps;
+        if(i==NUMMUSIQUE){
+            musique.arret();
         }else{
-
+            sons.arreter(this.lectures[i]);
         }
     }
 
     public void jouerSon(int i){
-        if(this.enLecture[i])
-            arretSon(i);
-        this.enLecture[i]=true;
-        this.tempsJoue[i]=0;
-        try{
-            switch(i){
-                case NUMMUSIQUE:
-                    this.mus=new Bruitage("sounds/music/Clotho.mp3");
-                    this.mus.lecture();
-                    break;
-                case NUMSWITCH:
-                    this.sonSwitch=new Bruitage("sounds/switch.mp3");
-                    this.sonSwitch.lecture();
-                    break;
-                case NUMCHUTE:
-                    this.sonChute=new Bruitage("sounds/chute.mp3");
-                    this.sonChute.lecture();
-                    break;
-                case NUMSUPPR1:
-                    this.sonSuppr1=new Bruitage("sounds/suppr1.mp3");
-                    this.sonSuppr1.lecture();
-                    break;
-                case NUMSUPPR2:
-                    this.sonSuppr2=new Bruitage("sounds/suppr2.mp3");
-                    this.sonSuppr2.lecture();
-                    break;
-                case NUMSUPPR3:
-                    this.sonSuppr3=new Bruitage("sounds/suppr3.mp3");
-                    this.sonSuppr3.lecture();
-                    break;
-                case NUMSUPPR4:
-                    this.sonSuppr4=new Bruitage("sounds/suppr4.mp3");
-                    this.sonSuppr4.lecture();
-                    break;
-                case NUMSUPPR5:
-                    this.sonSuppr5=new Bruitage("sounds/suppr5.mp3");
-                    this.sonSuppr5.lecture();
-                    break;
-                case NUMSTART:
-                    this.sonStart=new Bruitage("sounds/start.mp3");
-                    this.sonStart.lecture();
-                    break;
-                case NUMLEVEL:
-                    this.sonLevel=new Bruitage("sounds/level.mp3");
-                    this.sonLevel.lecture();
-                    break;
-            }
-        }catch (Exception e){System.out.println("Echec de la lecture ! "+e.getMessage());}
-
+        arretSon(i);
+        if(i==NUMMUSIQUE){
+            musique.lecture();
+        }else if(i==NUMSTART){
+            //La partie commence à la fin du son de départ, même s'il est coupé par un autre son
+            this.introFinie=false;
+            if(idSons[i]>=0)
+                this.lectures[i]=sons.jouer(idSons[i],1.0f,interrompue -> this.introFinie=true);
+            if(idSons[i]<0 || this.lectures[i]<0)
+                this.introFinie=true;
+        }else if(idSons[i]>=0){
+            this.lectures[i]=sons.jouer(idSons[i]);
+        }
     }
 
     public static void ajouterTex(Dessin tex){
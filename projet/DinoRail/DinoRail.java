@@ -1,4 +1,5 @@
 
+import Arcade.ClavierBorneArcade;
 import MG2D.FenetrePleinEcran;
 import MG2D.Couleur;
 import MG2D.geometrie.Point;
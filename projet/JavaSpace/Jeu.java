@@ -97,7 +97,7 @@ class Jeu{
 public Jeu(){
 		font=null;
 		try{
-			File in = new File("./fonts/PrStart.ttf");
+			File in = DossierJeu.fichier("fonts/PrStart.ttf");
 			font = font.createFont(Font.TRUETYPE_FONT, in);
 			font = font.deriveFont(32.0f);
 		}catch(Exception e){
@@ -217,7 +217,7 @@ public Jeu(){
     fen.effacer();
 	font = null;
 	try{
-	    File in = new File("font.ttf");
+	    File in = DossierJeu.fichier("font.ttf");
 	    font = font.createFont(Font.TRUETYPE_FONT, in);
 	    font = font.deriveFont(32.0f);
 	}catch (Exception e) {
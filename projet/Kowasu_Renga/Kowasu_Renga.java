@@ -1,4 +1,5 @@
 import Arcade.ClavierBorneArcade;
+import Arcade.DossierJeu;
 import Arcade.HighScore;
 import MG2D.*;
 
@@ -117,7 +118,7 @@ public class Kowasu_Renga {
 	
 	Font font = null;
 	try{
-	    File in = new File("font.ttf");
+	    File in = DossierJeu.fichier("font.ttf");
 	    font = font.createFont(Font.TRUETYPE_FONT, in);
 	    font = font.deriveFont(20.0f);
 	}catch (Exception e) {
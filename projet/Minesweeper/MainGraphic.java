@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import java.awt.Font;
 import java.security.Key;
 import java.util.ArrayList;
@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import MG2D.audio.*;
 
 public class Minesweeper {
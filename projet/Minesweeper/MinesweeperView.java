@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import MG2D.FenetrePleinEcran;
 import MG2D.Souris;
 import MG2D.audio.Musique;
@@ -13,10 +14,10 @@ public class MinesweeperView {
     public boolean end;
     public boolean menu;
     public Cursor cursor;
-    public static KeyboardArcade keyboard;
+    public static ClavierBorneArcade keyboard;
 
     public MinesweeperView() {
-        MinesweeperView.keyboard = new KeyboardArcade();
+        MinesweeperView.keyboard = new ClavierBorneArcade();
         this.level = new Basic();
         this.window = new FenetrePleinEcran("Minesweeper");
         this.window.addKeyListener(keyboard);
@@ -33,7 +34,7 @@ public class MinesweeperView {
     }
 
     public MinesweeperView(Level level) {
-        MinesweeperView.keyboard = new KeyboardArcade();
+        MinesweeperView.keyboard = new ClavierBorneArcade();
         this.level = level;
         this.window = new FenetrePleinEcran("Minesweeper");
         this.window.addKeyListener(keyboard);
@@ -48,7 +49,7 @@ public class MinesweeperView {
     }
 
     public void newGame() {
-        // Minesweeper.keyboard = new KeyboardArcade();
+        // Minesweeper.keyboard = new ClavierBorneArcade();
         this.level = new Basic();
         this.window = new FenetrePleinEcran("Minesweeper");
         this.window.addKeyListener(keyboard);
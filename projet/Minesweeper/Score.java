@@ -1,3 +1,5 @@
+import Arcade.ClavierBorneArcade;
+import Arcade.DossierJeu;
 import MG2D.geometrie.*;
 import MG2D.Fenetre;
 import MG2D.Couleur;
@@ -77,7 +79,7 @@ public class Score {
         ArrayList<ScoreData> l = new ArrayList<ScoreData>();
 
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(file));
+            BufferedReader reader = new BufferedReader(new FileReader(DossierJeu.fichier(file)));
             String currentLine;
             while ((currentLine = reader.readLine()) != null) {
                 l.add(new ScoreData(currentLine));
@@ -100,7 +102,7 @@ public class Score {
             scoresData.remove(scoresData.size() - 1);
 
         try {
-            BufferedWriter writer = new BufferedWriter(new FileWriter(file, false));
+            BufferedWriter writer = new BufferedWriter(new FileWriter(DossierJeu.fichier(file), false));
             for (int i = 0; i < scoresData.size(); i++) {
                 writer.write(scoresData.get(i).toString());
                 if (i != (scoresData.size() - 1))
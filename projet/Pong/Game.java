@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import MG2D.*;
 
 import MG2D.geometrie.Cercle;
@@ -75,6 +76,10 @@ public class Game {
 
     private Musique m;
 
+    // bruitages decodes une seule fois, joues sans creer de thread
+    private BanqueSons sons;
+    private int bip;
+
     //CONSTRUCTEUR
     public Game(){
     	f = new FenetrePleinEcran ( "ping ping pong");
@@ -83,6 +88,14 @@ public class Game {
     	clavier = new ClavierBorneArcade();
     	f.addKeyListener(clavier);
     	f.getP().addKeyListener(clavier);
+
+    	sons = new BanqueSons(4);
+    	try {
+    	    bip = sons.charger("bip.mp3");
+    	} catch (java.io.IOException e) {
+    	    bip = -1;
+    	    System.out.println(e);
+    	}
     	
     	
  	  
@@ -183,7 +196,7 @@ public class Game {
    	    }
     	 if(clavier.getBoutonJ1ATape()){
     		if(pointeur==1) {
-	    	    System.exit(5);
+	    	    quitter();
     		}
     		else {
     			GeneratejeuPong();
@@ -195,6 +208,14 @@ public class Game {
     	
     }
 
+    //QUITTE LE JEU APRES AVOIR RETIRE SES SONS DU MIXEUR
+    private void quitter(){
+	sons.fermer();
+	if(m!=null)
+	    m.fermer();
+	System.exit(5);
+    }
+
     //UN PAS DU JEU
     public void maj(){
     	
@@ -208,38 +229,41 @@ public class Game {
 	    System.out.println(tailleRaquette);
 	}	   
 
+	//les raquettes des deux joueurs sont lues d'un coup
+	long touches = clavier.instantane();
+
 	if(!demarrer && clavier.getBoutonJ1ATape() && scoreG<9 && scoreD<9){
 	    demarrer=true;
 	    dx=1;dy=1;
 	}
 		
 
-	if(clavier.getJoyJ1BasEnfoncee()){
+	if(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_BAS)){
 	    if(!raqG.intersectionRapide(limiteBasse)){
 		raqG.translater(0, -vitesseRaquette);
 	    }
 	}
 
-	if(clavier.getJoyJ1HautEnfoncee()){
+	if(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J1_HAUT)){
 	    if(!raqG.intersectionRapide(limiteHaute)){
 		raqG.translater(0, +vitesseRaquette);
 	    }
 	}
 
-	if(clavier.getJoyJ2BasEnfoncee()){
+	if(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J2_BAS)){
 	    if(!raqD.intersectionRapide(limiteBasse)){
 		raqD.translater(0, -vitesseRaquette);
 	    }
 	}
 
-	if(clavier.getJoyJ2HautEnfoncee()){
+	if(ClavierBorneArcade.estEnfoncee(touches, ClavierBorneArcade.J2_HAUT)){
 	    if(!raqD.intersectionRapide(limiteHaute)){
 		raqD.translater(0, +vitesseRaquette);
 	    }
 	}
 
 	if(clavier.getBoutonJ1ZTape()){
-	    System.exit(5);
+	    quitter();
 	}
 	    
 	if(balle.intersectionRapide(limiteGauche)){
@@ -259,8 +283,8 @@ public class Game {
 	if( (balle.intersectionRapide(raqG) && dx<0 )|| (balle.intersectionRapide(raqD) && dx>0)){
 		dx*=-1;
 	    nbRebond++;
-	    Bruitage b=new Bruitage("bip.mp3");
-	    b.lecture();
+	    if (bip >= 0)
+		sons.jouer(bip);
 	}
 	if(balle.intersectionRapide(limiteBasse))
 	    dy=1;
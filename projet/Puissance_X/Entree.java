@@ -1,76 +1,47 @@
-import java.util.ArrayList;
-import java.util.Hashtable;
-import java.awt.event.KeyAdapter;
-import java.awt.event.KeyEvent;
+import Arcade.ClavierBorneArcade;
 
-class Entree extends KeyAdapter {
+class Entree extends ClavierBorneArcade {
     static public final int INTERVAL_REPETITION = 100;
 
-    private Hashtable<Integer, Long> derniereRecupTouche;
-
-    public Entree() {
-	derniereRecupTouche = new Hashtable<>();
-    }
+    // Dernière prise en compte de chaque touche maintenue, 0 si elle a été relâchée depuis
+    private final long[] derniereRecupTouche = new long[J2_Z + 1];
 
     private long maintenant() {
 	return System.currentTimeMillis();
     }
 
-    private boolean verifTouche(int touche, int intervalRepetition) {
-	Integer toucheInteger = (Integer) touche;
-	synchronized (derniereRecupTouche)
+    private synchronized boolean verifTouche(int touche, int intervalRepetition) {
+	if (!this.toucheEnfoncee(touche))
+	    {
+		derniereRecupTouche[touche] = 0;
+		return false;
+	    }
+	long maintenant = this.maintenant();
+	if (maintenant - derniereRecupTouche[touche] >= intervalRepetition)
 	    {
-		if (derniereRecupTouche.containsKey(toucheInteger))
-		    {
-			long derniereRecup = derniereRecupTouche.get(toucheInteger), maintenant = this.maintenant();
-			if (maintenant - derniereRecup >= intervalRepetition)
-			    {
-				derniereRecupTouche.put(toucheInteger, Long.valueOf(maintenant));
-				return true;
-			    }
-		    }
+		derniereRecupTouche[touche] = maintenant;
+		return true;
 	    }
 	return false;
     }
 
     public boolean echap(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_R, intervalRepetition) || this.verifTouche(KeyEvent.VK_A, intervalRepetition);
-	//return this.verifTouche(KeyEvent.VK_F, intervalRepetition) || this.verifTouche(KeyEvent.VK_Q, intervalRepetition);
+	return this.verifTouche(J1_X, intervalRepetition) || this.verifTouche(J2_X, intervalRepetition);
     }
     public boolean entree(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_F, intervalRepetition) || this.verifTouche(KeyEvent.VK_Q, intervalRepetition);
-	//return this.verifTouche(KeyEvent.VK_R, intervalRepetition) || this.verifTouche(KeyEvent.VK_A, intervalRepetition);
+	return this.verifTouche(J1_A, intervalRepetition) || this.verifTouche(J2_A, intervalRepetition);
     }
 
     public boolean droite(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_RIGHT, intervalRepetition) || this.verifTouche(KeyEvent.VK_M, intervalRepetition);
+	return this.verifTouche(J1_DROITE, intervalRepetition) || this.verifTouche(J2_DROITE, intervalRepetition);
     }
     public boolean gauche(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_LEFT, intervalRepetition) || this.verifTouche(KeyEvent.VK_K, intervalRepetition);
+	return this.verifTouche(J1_GAUCHE, intervalRepetition) || this.verifTouche(J2_GAUCHE, intervalRepetition);
     }
     public boolean haut(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_UP, intervalRepetition) || this.verifTouche(KeyEvent.VK_O, intervalRepetition);
+	return this.verifTouche(J1_HAUT, intervalRepetition) || this.verifTouche(J2_HAUT, intervalRepetition);
     }
     public boolean bas(int intervalRepetition) {
-	return this.verifTouche(KeyEvent.VK_DOWN, intervalRepetition) || this.verifTouche(KeyEvent.VK_L, intervalRepetition);
-    }
-
-    @Override
-    public void keyPressed(KeyEvent e) {
-	Integer touche = (Integer) e.getKeyCode();
-	synchronized (derniereRecupTouche)
-	    {
-		if (!derniereRecupTouche.containsKey(touche))
-		    derniereRecupTouche.put(touche, Long.valueOf("0"));
-	    }
-    }
-    @Override
-    public void keyReleased(KeyEvent e) {
-	Integer touche = Integer.valueOf(e.getKeyCode());
-	synchronized (derniereRecupTouche)
-	    {
-		if (derniereRecupTouche.containsKey(touche))
-		    derniereRecupTouche.remove(touche);
-	    }
+	return this.verifTouche(J1_BAS, intervalRepetition) || this.verifTouche(J2_BAS, intervalRepetition);
     }
 }
@@ -1,3 +1,5 @@
+import Arcade.ClavierBorneArcade;
+import Arcade.DossierJeu;
 import MG2D.*;
 import MG2D.geometrie.*;
 import java.io.File;
@@ -203,7 +205,7 @@ class HighScore{
 	ArrayList<LigneHighScore> l = new ArrayList<LigneHighScore>();
 
 	try{
-	    BufferedReader reader = new BufferedReader(new FileReader(fichier));
+	    BufferedReader reader = new BufferedReader(new FileReader(DossierJeu.fichier(fichier)));
 	    String currentLine;
 	    while ((currentLine = reader.readLine()) != null) {
 		l.add(new LigneHighScore(currentLine));
@@ -233,7 +235,7 @@ class HighScore{
 	    list.remove(list.size()-1);
 	
 	try{
-	    BufferedWriter writer = new BufferedWriter(new FileWriter(fichier));
+	    BufferedWriter writer = new BufferedWriter(new FileWriter(DossierJeu.fichier(fichier)));
 	    for(int i=0;i<list.size();i++){
 		writer.write(list.get(i).toString());
 		if(i!=(list.size()-1))
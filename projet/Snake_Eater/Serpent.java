@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import MG2D.Fenetre;
 import MG2D.Clavier;
 import MG2D.geometrie.Carre;
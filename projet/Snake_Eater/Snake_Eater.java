@@ -1,3 +1,4 @@
+import Arcade.ClavierBorneArcade;
 import MG2D.*;
 import MG2D.geometrie.*;
 import java.awt.GraphicsDevice;